@@ -0,0 +1,31 @@
+package com.etraveligroup.mazechallenge.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generated maze files shared by all the benchmarks. Files are kept in {@code java.io.tmpdir/maze-benchmarks}
+ * and reused by later forks and runs.
+ */
+final class BenchmarkMazes {
+
+    private static final long SEED = 42;
+
+    private BenchmarkMazes() {
+    }
+
+    static Path file(MazeTopology topology, long cells) throws IOException {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "maze-benchmarks");
+        Files.createDirectories(directory);
+
+        Path file = directory.resolve(topology.name().toLowerCase() + "_" + cells + ".txt");
+        if (!Files.exists(file)) {
+            Path temporary = Files.createTempFile(directory, topology.name().toLowerCase(), ".tmp");
+            topology.write(temporary, cells, SEED);
+            Files.move(temporary, file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,65 @@
+package com.etraveligroup.mazechallenge.benchmark;
+
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Throughput of {@link MazeBuilder#builtMaze()}.</p>
+ *
+ * <p>The {@code bytes} secondary result is the parsing speed in bytes of maze file per second.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog4j.configurationFile=log4j2-benchmark.properties"})
+public class MazeBuilderBenchmark {
+
+    @Param({"1000", "1000000", "100000000"})
+    public long cells;
+
+    @Param({"PERFECT", "OPEN_ROOMS", "LONG_CORRIDORS"})
+    public MazeTopology topology;
+
+    /**
+     * Parse in parallel on the common fork-join pool
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Path file;
+
+    private long fileSize;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ReadBytes {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void generateMaze() throws IOException {
+        file = BenchmarkMazes.file(topology, cells);
+        fileSize = Files.size(file);
+    }
+
+    @Benchmark
+    public Maze builtMaze(ReadBytes readBytes) throws MazeFileMalformedException, IOException {
+        MazeBuilder mazeBuilder = new MazeBuilder(file.toString());
+        if (parallel) {
+            mazeBuilder.setForkJoinPool(ForkJoinPool.commonPool());
+        }
+        Maze maze = mazeBuilder.builtMaze();
+        readBytes.bytes += fileSize;
+        return maze;
+    }
+}
@@ -0,0 +1,94 @@
+package com.etraveligroup.mazechallenge.benchmark;
+
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.DStarLiteMazeSolver;
+import com.etraveligroup.mazechallenge.solver.JunctionGraphMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkTheJunctionsMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Cost of a full solve of each algorithm. The {@code steps} secondary result is the average time per Actor's move;
+ * run with {@code -prof gc} for the allocation rate per solve.</p>
+ *
+ * <p>Larger mazes are left out of the defaults since 'Random mouse' may take very long on them, pass them explicitly
+ * with {@code -p cells=10000000,100000000}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog4j.configurationFile=log4j2-benchmark.properties"})
+public class MazeSolverBenchmark {
+
+    public enum Algorithm {
+        RANDOM_MOUSE,
+        MARK_THE_PATH_DETERMINISTIC,
+        MARK_THE_PATH_RANDOM,
+        MARK_THE_JUNCTIONS_DETERMINISTIC,
+        MARK_THE_JUNCTIONS_RANDOM,
+        JUNCTION_GRAPH_DETERMINISTIC,
+        JUNCTION_GRAPH_RANDOM,
+        D_STAR_LITE;
+
+        MazeSolver newSolver() {
+            switch (this) {
+                case RANDOM_MOUSE:
+                    return new RandomMouseMazeSolver();
+                case MARK_THE_PATH_DETERMINISTIC:
+                case MARK_THE_PATH_RANDOM:
+                    return new MarkThePathMazeSolver(this == MARK_THE_PATH_RANDOM);
+                case MARK_THE_JUNCTIONS_DETERMINISTIC:
+                case MARK_THE_JUNCTIONS_RANDOM:
+                    return new MarkTheJunctionsMazeSolver(this == MARK_THE_JUNCTIONS_RANDOM);
+                case JUNCTION_GRAPH_DETERMINISTIC:
+                case JUNCTION_GRAPH_RANDOM:
+                    return new JunctionGraphMazeSolver(this == JUNCTION_GRAPH_RANDOM);
+                default:
+                    return new DStarLiteMazeSolver();
+            }
+        }
+    }
+
+    @Param({"1000", "100000", "1000000"})
+    public long cells;
+
+    @Param({"PERFECT", "OPEN_ROOMS", "LONG_CORRIDORS"})
+    public MazeTopology topology;
+
+    @Param({"RANDOM_MOUSE", "MARK_THE_PATH_DETERMINISTIC", "MARK_THE_PATH_RANDOM",
+            "MARK_THE_JUNCTIONS_DETERMINISTIC", "MARK_THE_JUNCTIONS_RANDOM", "JUNCTION_GRAPH_DETERMINISTIC", "JUNCTION_GRAPH_RANDOM", "D_STAR_LITE"})
+    public Algorithm algorithm;
+
+    private Maze maze;
+
+    private MazeSolver solver;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Steps {
+        public long steps;
+    }
+
+    @Setup(Level.Trial)
+    public void buildMaze() throws MazeFileMalformedException, IOException {
+        maze = new MazeBuilder(BenchmarkMazes.file(topology, cells).toString()).builtMaze();
+        solver = algorithm.newSolver();
+    }
+
+    @Benchmark
+    public SolveResult solveMaze(Steps steps) {
+        SolveResult result = solver.solve(maze);
+        steps.steps += result.getSteps();
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+package com.etraveligroup.mazechallenge.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Maze shapes generated for the benchmarks. All generated mazes are solvable, with the start at the top left
+ * and the end at the bottom right corner.
+ */
+public enum MazeTopology {
+
+    /**
+     * Recursive backtracker maze: one route between any two blocks, many dead ends
+     */
+    PERFECT {
+        @Override
+        byte[] generate(int height, int width, Random random) {
+            byte[] cells = filled(height, width, WALL);
+
+            // Rooms are the blocks with odd (0-based) row and column, carved with an explicit stack
+            int roomRows = (height - 1) / 2, roomColumns = (width - 1) / 2;
+            int[] stack = new int[roomRows * roomColumns];
+            int top = 0;
+            stack[top++] = 0;
+            cells[width + 1] = EMPTY;
+
+            int[] candidates = new int[4];
+            while (top > 0) {
+                int room = stack[top - 1], row = room / roomColumns, column = room % roomColumns;
+                int count = 0;
+                if (row > 0 && isWall(cells, width, row - 1, column)) candidates[count++] = room - roomColumns;
+                if (row < roomRows - 1 && isWall(cells, width, row + 1, column)) candidates[count++] = room + roomColumns;
+                if (column > 0 && isWall(cells, width, row, column - 1)) candidates[count++] = room - 1;
+                if (column < roomColumns - 1 && isWall(cells, width, row, column + 1)) candidates[count++] = room + 1;
+
+                if (count == 0) {
+                    top--;
+                    continue;
+                }
+                int next = candidates[random.nextInt(count)], nextRow = next / roomColumns, nextColumn = next % roomColumns;
+                // Carve the next room and the wall between the two rooms
+                cells[(2 * nextRow + 1) * width + 2 * nextColumn + 1] = EMPTY;
+                cells[(row + nextRow + 1) * width + column + nextColumn + 1] = EMPTY;
+                stack[top++] = next;
+            }
+            cells[width + 1] = START;
+            cells[(2 * roomRows - 1) * width + 2 * roomColumns - 1] = END;
+            return cells;
+        }
+
+        private boolean isWall(byte[] cells, int width, int roomRow, int roomColumn) {
+            return cells[(2 * roomRow + 1) * width + 2 * roomColumn + 1] == WALL;
+        }
+    },
+
+    /**
+     * Open 15x15 rooms separated by walls, with one door towards the room on the right and one towards the room below
+     */
+    OPEN_ROOMS {
+        @Override
+        byte[] generate(int height, int width, Random random) {
+            byte[] cells = filled(height, width, EMPTY);
+
+            for (int x = ROOM; x < height; x += ROOM + 1) {
+                for (int y = 0; y < width; y++) {
+                    cells[x * width + y] = WALL;
+                }
+            }
+            for (int y = ROOM; y < width; y += ROOM + 1) {
+                for (int x = 0; x < height; x++) {
+                    cells[x * width + y] = WALL;
+                }
+            }
+            // Doors, one per wall segment
+            for (int x = ROOM; x < height; x += ROOM + 1) {
+                for (int y = 0; y < width; y += ROOM + 1) {
+                    cells[x * width + y + random.nextInt(Math.min(ROOM, width - y))] = EMPTY;
+                }
+            }
+            for (int y = ROOM; y < width; y += ROOM + 1) {
+                for (int x = 0; x < height; x += ROOM + 1) {
+                    cells[(x + random.nextInt(Math.min(ROOM, height - x))) * width + y] = EMPTY;
+                }
+            }
+            cells[0] = START;
+            cells[height * width - 1] = END;
+            return cells;
+        }
+    },
+
+    /**
+     * A single serpentine corridor running through the whole maze
+     */
+    LONG_CORRIDORS {
+        @Override
+        byte[] generate(int height, int width, Random random) {
+            byte[] cells = filled(height, width, EMPTY);
+
+            for (int x = 1; x < height; x += 2) {
+                for (int y = 0; y < width; y++) {
+                    cells[x * width + y] = WALL;
+                }
+                // The gap alternates between the right and the left end
+                cells[x * width + (x % 4 == 1 ? width - 1 : 0)] = EMPTY;
+            }
+            cells[0] = START;
+            cells[(height - 1) * width + ((height - 1) % 4 == 0 ? width - 1 : 0)] = END;
+            return cells;
+        }
+    };
+
+    private static final int ROOM = 15;
+
+    private static final byte WALL = 'X', EMPTY = '_', START = 'S', END = 'G';
+
+    /**
+     * Generates a maze of the given shape, row by row in the maze file alphabet
+     */
+    abstract byte[] generate(int height, int width, Random random);
+
+    /**
+     * Writes a square maze of about the given number of cells to a text file, one line per row
+     *
+     * @param file  The maze file
+     * @param cells The approximate number of cells
+     * @param seed  Seed of the random generator, the same seed always generates the same maze
+     */
+    public void write(Path file, long cells, long seed) throws IOException {
+        // Odd sides keep the rooms of the perfect maze and the corridors aligned to the borders, an odd side is never a
+        // multiple of the even room pitch
+        int side = (int) Math.ceil(Math.sqrt(cells)) | 1;
+        byte[] maze = generate(side, side, new Random(seed));
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (int x = 0; x < side; x++) {
+                out.write(maze, x * side, side);
+                if (x < side - 1) {
+                    out.write('\n');
+                }
+            }
+        }
+    }
+
+    private static byte[] filled(int height, int width, byte value) {
+        byte[] cells = new byte[height * width];
+        Arrays.fill(cells, value);
+        return cells;
+    }
+}
@@ -0,0 +1,80 @@
+package com.etraveligroup.mazechallenge;
+
+import com.etraveligroup.mazechallenge.batch.BatchSummary;
+import com.etraveligroup.mazechallenge.batch.MazeBatchRunner;
+import com.etraveligroup.mazechallenge.cache.SolutionCache;
+import com.etraveligroup.mazechallenge.cache.SolutionStore;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Solves a directory or a manifest of maze files with all the algorithms and prints the results
+ *
+ * <pre>
+ *     BatchMazeSolverApp &lt;directory | manifest file&gt; [max concurrency] [cache directory]
+ * </pre>
+ *
+ * <p>With a cache directory the solved paths are kept on disk, byte-identical mazes of this and later batches are not solved again.</p>
+ */
+public class BatchMazeSolverApp {
+
+    private static final Logger logger = LogManager.getLogger(BatchMazeSolverApp.class);
+
+    /**
+     * Memory held by the cached paths, 64 MB
+     */
+    private static final long CACHE_MAX_BYTES = 64L << 20;
+
+    public static void main(String[] args) {
+        Path source = Paths.get(args.length > 0 ? args[0] : "files");
+        int maxConcurrency = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+
+        List<MazeSolver> solvers = List.of(new RandomMouseMazeSolver(), new MarkThePathMazeSolver(false), new MarkThePathMazeSolver(true));
+        MazeBatchRunner runner = new MazeBatchRunner(solvers, maxConcurrency);
+
+        // Metrics of every algorithm, readable with any JMX console while the batch runs
+        for (MazeSolver solver : solvers) {
+            try {
+                solver.getMetrics().register(solver.toString());
+            } catch (JMException ex) {
+                // The batch runs without the metrics of this algorithm over JMX
+                logger.warn("Metrics of " + solver + " not registered: " + ex);
+            }
+        }
+
+        try {
+            if (args.length > 2) {
+                runner.setCache(new SolutionCache(CACHE_MAX_BYTES, new SolutionStore(Paths.get(args[2]))));
+            }
+
+            Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            BatchSummary summary = Files.isDirectory(source)
+                    ? runner.runDirectory(source, output)
+                    : runner.runManifest(source, output);
+            output.flush();
+            logger.info("Batch completed: " + summary);
+            for (MazeSolver solver : solvers) {
+                logger.info(solver + ": " + solver.getMetrics().snapshot());
+            }
+        } catch (IOException ex) {
+            logger.error("Exception occured: " + ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error("Batch interrupted");
+        }
+    }
+}
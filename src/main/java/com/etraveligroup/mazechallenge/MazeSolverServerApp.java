@@ -0,0 +1,68 @@
+package com.etraveligroup.mazechallenge;
+
+import com.etraveligroup.mazechallenge.cache.SolutionCache;
+import com.etraveligroup.mazechallenge.server.MazeSolverServer;
+import com.etraveligroup.mazechallenge.solver.DStarLiteMazeSolver;
+import com.etraveligroup.mazechallenge.solver.JunctionGraphMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves maze solving over HTTP on localhost, see {@link MazeSolverServer}
+ *
+ * <pre>
+ *     MazeSolverServerApp [port] [workers] [queue capacity]
+ * </pre>
+ */
+public class MazeSolverServerApp {
+
+    private static final Logger logger = LogManager.getLogger(MazeSolverServerApp.class);
+
+    /**
+     * Memory held by the cached paths, 64 MB
+     */
+    private static final long CACHE_MAX_BYTES = 64L << 20;
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        Map<String, MazeSolver> solvers = new LinkedHashMap<>();
+        solvers.put("mark-the-path", new MarkThePathMazeSolver(false));
+        solvers.put("mark-the-path-random", new MarkThePathMazeSolver(true));
+        solvers.put("junction-graph", new JunctionGraphMazeSolver(false));
+        solvers.put("d-star-lite", new DStarLiteMazeSolver());
+        solvers.put("random-mouse", new RandomMouseMazeSolver());
+
+        // Metrics of every algorithm, readable with any JMX console while the server runs
+        for (Map.Entry<String, MazeSolver> solver : solvers.entrySet()) {
+            try {
+                solver.getValue().getMetrics().register(solver.getKey());
+            } catch (JMException ex) {
+                // The server runs without the metrics of this algorithm over JMX
+                logger.warn("Metrics of " + solver.getKey() + " not registered: " + ex);
+            }
+        }
+
+        try {
+            MazeSolverServer server = new MazeSolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                    solvers, workers, queueCapacity);
+            server.setCache(new SolutionCache(CACHE_MAX_BYTES));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+        } catch (IOException ex) {
+            logger.error("Exception occured: " + ex);
+        }
+    }
+}
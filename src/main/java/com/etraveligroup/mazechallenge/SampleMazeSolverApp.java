@@ -3,6 +3,7 @@ package com.etraveligroup.mazechallenge;
 import com.etraveligroup.mazechallenge.model.actor.Actor;
 import com.etraveligroup.mazechallenge.model.maze.Maze;
 import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.StreamingMaze;
 import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
 import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
 import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
@@ -17,12 +18,12 @@ public class SampleMazeSolverApp {
 
     public static void main(String[] args) {
 
-        // Parameter the external maze file path (default path: ".\\files\\maze.txt")
-        MazeBuilder mazeBuilder = new MazeBuilder(".\\files\\simple_maze.txt");
+        // Parameter the external maze file path (default path: "files/maze.txt"), "-" for the standard input
+        String path = args.length > 0 ? args[0] : "files/maze.txt";
 
         try {
-            // Built maze from external file
-            Maze maze = mazeBuilder.builtMaze();
+            // Built maze from external file, or stream it from the standard input while solving
+            Maze maze = "-".equals(path) ? StreamingMaze.load(System.in) : new MazeBuilder(path).builtMaze();
 
             // Create Actor
             Actor actor = new Actor();
@@ -45,6 +46,8 @@ public class SampleMazeSolverApp {
 
         } catch (MazeFileMalformedException | IOException ex) {
             logger.error("Exception occured: " + ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
         }
     }
 }
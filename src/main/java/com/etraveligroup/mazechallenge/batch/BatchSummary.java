@@ -0,0 +1,74 @@
+package com.etraveligroup.mazechallenge.batch;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts of a {@link MazeBatchRunner} batch, updated concurrently while the batch runs
+ */
+public class BatchSummary {
+
+    private final AtomicLong files = new AtomicLong();
+
+    private final AtomicLong failedFiles = new AtomicLong();
+
+    private final AtomicLong solvedRuns = new AtomicLong();
+
+    private final AtomicLong unsolvedRuns = new AtomicLong();
+
+    private volatile IOException outputError;
+
+    void addFile(boolean built) {
+        files.incrementAndGet();
+        if (!built) {
+            failedFiles.incrementAndGet();
+        }
+    }
+
+    void addRun(boolean solved) {
+        (solved ? solvedRuns : unsolvedRuns).incrementAndGet();
+    }
+
+    IOException getOutputError() {
+        return outputError;
+    }
+
+    synchronized void setOutputError(IOException outputError) {
+        if (this.outputError == null) {
+            this.outputError = outputError;
+        }
+    }
+
+    /**
+     * @return The number of files processed
+     */
+    public long getFiles() {
+        return files.get();
+    }
+
+    /**
+     * @return The number of files that could not be built or solved
+     */
+    public long getFailedFiles() {
+        return failedFiles.get();
+    }
+
+    /**
+     * @return The number of solver runs that reached the end point
+     */
+    public long getSolvedRuns() {
+        return solvedRuns.get();
+    }
+
+    /**
+     * @return The number of solver runs stopped by a limit
+     */
+    public long getUnsolvedRuns() {
+        return unsolvedRuns.get();
+    }
+
+    @Override
+    public String toString() {
+        return files + " files (" + failedFiles + " failed), " + solvedRuns + " solved runs, " + unsolvedRuns + " unsolved runs";
+    }
+}
@@ -0,0 +1,215 @@
+package com.etraveligroup.mazechallenge.batch;
+
+import com.etraveligroup.mazechallenge.cache.ContentHash;
+import com.etraveligroup.mazechallenge.cache.SolutionCache;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * <p>Solves a batch of maze files: every file of a directory or every path listed in a manifest file (one path per line).
+ * Each file is built with {@link MazeBuilder} and solved by all the configured solvers in its own thread. On Java 21+ the threads
+ * are virtual threads, so waiting on I/O does not hold a platform thread. At most {@code maxConcurrency} files are in flight,
+ * which caps the memory held by built mazes.</p>
+ *
+ * <p>A maze is checked for reachability when it is built, an unsolvable file is reported as an error instead of being run
+ * by every solver. Every run is limited to {@link #DEFAULT_OPTIONS} unless other limits are set.</p>
+ *
+ * <p>With a {@link SolutionCache} the runs already cached for a byte-identical file are answered from the cache, and a file is
+ * built only when one of its runs is missing.</p>
+ *
+ * <p>Results are written as soon as a file completes, one tab separated line per solver run:</p>
+ * <pre>
+ *     path    algorithm    status    steps    milliseconds
+ *     path    ERROR        message
+ * </pre>
+ */
+public class MazeBatchRunner {
+
+    private static final Logger logger = LogManager.getLogger(MazeBatchRunner.class);
+
+    private final List<MazeSolver> solvers;
+
+    private final int maxConcurrency;
+
+    /**
+     * A minute per solver run, so that a slow solver on a large maze does not hold its permit forever
+     */
+    public static final SolveOptions DEFAULT_OPTIONS = SolveOptions.builder().timeout(Duration.ofMinutes(1)).build();
+
+    private SolveOptions options = DEFAULT_OPTIONS;
+
+    private SolutionCache cache;
+
+    /**
+     * @param solvers        The solvers run on every maze, shared by all the threads
+     * @param maxConcurrency The maximum number of files in flight
+     */
+    public MazeBatchRunner(List<MazeSolver> solvers, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + maxConcurrency);
+        }
+        this.solvers = new ArrayList<>(solvers);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @param options The limits of every solver run
+     */
+    public void setOptions(SolveOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * @param cache The cache of the solved paths, or null to solve every file
+     */
+    public void setCache(SolutionCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Solves all the regular files of the directory tree
+     *
+     * @param directory The root directory of the maze files
+     * @param output    Receives the results as the files complete
+     * @return The counts of the batch
+     */
+    public BatchSummary runDirectory(Path directory, Writer output) throws IOException, InterruptedException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return run(files.filter(Files::isRegularFile).iterator(), output);
+        }
+    }
+
+    /**
+     * Solves the files listed in the manifest, one path per line. Blank lines are skipped and relative paths are resolved
+     * against the directory of the manifest.
+     *
+     * @param manifest The manifest file
+     * @param output   Receives the results as the files complete
+     * @return The counts of the batch
+     */
+    public BatchSummary runManifest(Path manifest, Writer output) throws IOException, InterruptedException {
+        Path base = manifest.toAbsolutePath().getParent();
+        try (Stream<String> lines = Files.lines(manifest, StandardCharsets.UTF_8)) {
+            return run(lines.map(String::trim).filter(line -> !line.isEmpty()).map(base::resolve).iterator(), output);
+        }
+    }
+
+    /**
+     * <p>Solves the given files. Files are consumed lazily, a new file is started only when one of the
+     * {@code maxConcurrency} permits is free.</p>
+     *
+     * @param files  The maze files
+     * @param output Receives the results as the files complete
+     * @return The counts of the batch
+     * @throws IOException          If writing to the output failed, after all the started files complete
+     * @throws InterruptedException If interrupted, after all the started files complete
+     */
+    public BatchSummary run(Iterator<Path> files, Writer output) throws IOException, InterruptedException {
+        BatchSummary summary = new BatchSummary();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = newThreadPerTaskExecutor();
+        try {
+            while (files.hasNext() && summary.getOutputError() == null) {
+                Path file = files.next();
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            solveFile(file, output, summary);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    permits.release();
+                    throw ex;
+                }
+            }
+        } finally {
+            // Wait for the started files
+            permits.acquireUninterruptibly(maxConcurrency);
+            executor.shutdown();
+        }
+
+        if (summary.getOutputError() != null) {
+            throw summary.getOutputError();
+        }
+        return summary;
+    }
+
+    /**
+     * Builds the maze of the file and runs all the solvers on it, the maze is not built if all the runs are cached
+     */
+    private void solveFile(Path file, Writer output, BatchSummary summary) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            ContentHash hash = cache != null ? ContentHash.of(file) : null;
+            Maze maze = null;
+            for (MazeSolver solver : solvers) {
+                long startNanos = System.nanoTime();
+                SolutionCache.Key key = cache != null ? SolutionCache.key(hash, solver, options) : null;
+                SolveResult result = cache != null ? cache.lookup(key, options, startNanos) : null;
+                if (result == null) {
+                    if (maze == null) {
+                        MazeBuilder builder = new MazeBuilder(file.toString());
+                        builder.setReachabilityCheck(true);
+                        maze = builder.builtMaze();
+                    }
+                    result = solver.solve(maze, options);
+                    if (cache != null) {
+                        cache.put(key, result);
+                    }
+                }
+                summary.addRun(result.isSolved());
+                lines.append(file).append('\t').append(solver).append('\t').append(result.getStatus())
+                        .append('\t').append(result.getSteps()).append('\t').append(result.getElapsedNanos() / 1_000_000)
+                        .append(System.lineSeparator());
+            }
+            summary.addFile(true);
+        } catch (Exception ex) {
+            // A broken file does not stop the batch
+            logger.warn("Failed to solve " + file + ": " + ex);
+            summary.addFile(false);
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName();
+            lines.append(file).append('\t').append("ERROR").append('\t').append(message).append(System.lineSeparator());
+        }
+
+        try {
+            synchronized (output) {
+                output.write(lines.toString());
+            }
+        } catch (IOException ex) {
+            summary.setOutputError(ex);
+        }
+    }
+
+    /**
+     * @return A virtual thread per task executor on Java 21+, a cached thread pool otherwise
+     */
+    static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.etraveligroup.mazechallenge.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>128 bits hash of the content of a maze file, with the length of the file. Two independent 64 bits multiply-rotate lanes run over
+ * the file 8 bytes at a time, the file is memory mapped in windows and never parsed. It is not a cryptographic hash: it identifies
+ * files, it does not authenticate them.</p>
+ */
+public final class ContentHash {
+
+    private static final long WINDOW = 1L << 30;
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+
+    private final long length;
+
+    private final long high;
+
+    private final long low;
+
+    ContentHash(long length, long high, long low) {
+        this.length = length;
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Hashes the content of the given file
+     */
+    public static ContentHash of(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            Lanes lanes = new Lanes();
+            // Windows are multiples of 8 bytes, only the last one has a tail
+            for (long position = 0; position < length; position += WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, length - position));
+                lanes.update(window.order(ByteOrder.LITTLE_ENDIAN));
+            }
+            return lanes.finish(length);
+        }
+    }
+
+    /**
+     * Hashes the given bytes, from the position to the limit of the buffer. The buffer position is not changed.
+     */
+    public static ContentHash of(ByteBuffer content) {
+        ByteBuffer buffer = content.slice().order(ByteOrder.LITTLE_ENDIAN);
+        Lanes lanes = new Lanes();
+        lanes.update(buffer);
+        return lanes.finish(content.remaining());
+    }
+
+    private static class Lanes {
+
+        private long high = PRIME1;
+
+        private long low = PRIME2;
+
+        private long tail;
+
+        void update(ByteBuffer buffer) {
+            while (buffer.remaining() >= Long.BYTES) {
+                add(buffer.getLong());
+            }
+            for (int shift = 0; buffer.hasRemaining(); shift += 8) {
+                tail |= (buffer.get() & 0xFFL) << shift;
+            }
+        }
+
+        /**
+         * The last bytes are hashed with the length, so the padding of the tail is unambiguous
+         */
+        ContentHash finish(long length) {
+            add(tail);
+            return new ContentHash(length, mix(high ^ length), mix(low + length));
+        }
+
+        private void add(long value) {
+            high = Long.rotateLeft(high ^ value * PRIME2, 31) * PRIME1;
+            low = Long.rotateLeft(low ^ value * PRIME3, 27) * PRIME2;
+        }
+    }
+
+    /**
+     * Final avalanche of a lane, every bit of the input flips about half of the output bits
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ hash >>> 33;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContentHash)) {
+            return false;
+        }
+        ContentHash other = (ContentHash) o;
+        return length == other.length && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ low >>> 32);
+    }
+
+    /**
+     * @return 32 hex digits, usable as a file name
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
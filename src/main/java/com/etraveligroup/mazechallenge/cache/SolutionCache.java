@@ -0,0 +1,255 @@
+package com.etraveligroup.mazechallenge.cache;
+
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.SolveStatus;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Content addressed cache of solved paths. A path is found by the {@link ContentHash} of the maze file, the solver and, for
+ * solvers that are not deterministic, the seed of the run. Byte-identical maze files share their paths whatever their name, and a
+ * hit is answered without building the maze: hashing the file is the only work left.</p>
+ *
+ * <p>Paths are kept in memory up to a number of bytes, the least recently used ones are evicted first. With a {@link SolutionStore}
+ * every path is also written to disk, and paths evicted from memory or solved before a restart are read back from there.
+ * Only solved runs are cached. Runs of a solver that is not deterministic without a seed are never cached.</p>
+ *
+ * <p>Thread-safe.</p>
+ */
+public class SolutionCache {
+
+    private final long maxBytes;
+
+    private final SolutionStore store;
+
+    private final LinkedHashMap<Key, CompactPath> paths = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxBytes The memory held by the paths at most
+     */
+    public SolutionCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes The memory held by the paths at most
+     * @param store    Keeps the paths on disk, or null to keep them in memory only
+     */
+    public SolutionCache(long maxBytes, SolutionStore store) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Negative cache size: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.store = store;
+    }
+
+    /**
+     * @param file    The maze file
+     * @param solver  The solver of the runs
+     * @param options The options of the runs
+     * @return The key of the runs, null if they may not be cached
+     */
+    public static Key key(ContentHash file, MazeSolver solver, SolveOptions options) {
+        if (solver.isDeterministic()) {
+            return new Key(file, solver.toString(), null);
+        }
+        return options.getSeed() != null ? new Key(file, solver.toString(), options.getSeed()) : null;
+    }
+
+    /**
+     * <p>Solves the maze of the file, or returns the cached path of a previous run. On a hit the maze is not built, the result
+     * holds no maze: its {@link SolveResult#getCompactPath()} is the path, shared with the cache.</p>
+     *
+     * @param file    The maze file
+     * @param solver  The solver
+     * @param options The limits of the run. A cached path longer than the step budget is solved again
+     * @return The outcome of the run
+     */
+    public SolveResult solve(Path file, MazeSolver solver, SolveOptions options) throws MazeFileMalformedException, IOException {
+        long startNanos = System.nanoTime();
+        Key key = key(ContentHash.of(file), solver, options);
+
+        SolveResult cached = lookup(key, options, startNanos);
+        if (cached != null) {
+            return cached;
+        }
+        Maze maze = new MazeBuilder(file.toString()).builtMaze();
+        SolveResult result = solver.solve(maze, options);
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * @param key        The key of the run, may be null
+     * @param options    The limits of the run
+     * @param startNanos When the run started, for the elapsed time of the result
+     * @return The cached run, null on a miss. Its path is shared with the cache and must not be modified. A null key is
+     * not a miss, runs that may not be cached are left out of the statistics
+     */
+    public SolveResult lookup(Key key, SolveOptions options, long startNanos) {
+        if (key == null) {
+            return null;
+        }
+        CompactPath path = get(key);
+        if (path == null || path.getMoveCount() > options.getMaxSteps()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new SolveResult(SolveStatus.SOLVED, null, path, path.getMoveCount(), System.nanoTime() - startNanos,
+                key.getSeed() != null ? key.getSeed() : 0);
+    }
+
+    /**
+     * Caches the path of the run if it is solved
+     *
+     * @param key    The key of the run, may be null
+     * @param result The outcome of the run
+     */
+    public void put(Key key, SolveResult result) {
+        if (key == null || !result.isSolved() || result.getCompactPath() == null) {
+            return;
+        }
+        keep(key, result.getCompactPath());
+        if (store != null) {
+            store.write(key, result.getCompactPath());
+        }
+    }
+
+    /**
+     * @return The cached path, from memory or from the store, null if not cached
+     */
+    CompactPath get(Key key) {
+        synchronized (paths) {
+            CompactPath path = paths.get(key);
+            if (path != null || store == null) {
+                return path;
+            }
+        }
+        // Read outside the lock, the other threads keep hitting the memory meanwhile
+        CompactPath path = store.read(key);
+        if (path != null) {
+            keep(key, path);
+        }
+        return path;
+    }
+
+    private void keep(Key key, CompactPath path) {
+        long size = path.memorySize();
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (paths) {
+            CompactPath previous = paths.put(key, path);
+            bytes += size - (previous != null ? previous.memorySize() : 0);
+
+            // Evict the least recently used paths
+            Iterator<Map.Entry<Key, CompactPath>> eldest = paths.entrySet().iterator();
+            while (bytes > maxBytes) {
+                bytes -= eldest.next().getValue().memorySize();
+                eldest.remove();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The memory held by the cached paths
+     */
+    public long getBytes() {
+        synchronized (paths) {
+            return bytes;
+        }
+    }
+
+    /**
+     * Identifies the runs of a solver on a maze file
+     */
+    public static final class Key {
+
+        private final ContentHash file;
+
+        private final String solverName;
+
+        private final Long seed;
+
+        Key(ContentHash file, String solverName, Long seed) {
+            this.file = file;
+            this.solverName = solverName;
+            this.seed = seed;
+        }
+
+        public ContentHash getFile() {
+            return file;
+        }
+
+        public String getSolverName() {
+            return solverName;
+        }
+
+        /**
+         * @return The seed of the runs, null for a deterministic solver
+         */
+        public Long getSeed() {
+            return seed;
+        }
+
+        boolean matches(String solverName, Long seed) {
+            return this.solverName.equals(solverName) && Objects.equals(this.seed, seed);
+        }
+
+        /**
+         * @return The file name of the key in a {@link SolutionStore}, shared by keys whose solver and seed hash alike
+         */
+        String fileName() {
+            return file + "-" + String.format("%08x", Objects.hash(solverName, seed)) + ".path";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return file.equals(other.file) && solverName.equals(other.solverName) && Objects.equals(seed, other.seed);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, solverName, seed);
+        }
+
+        @Override
+        public String toString() {
+            return file + " " + solverName + (seed != null ? " seed " + seed : "");
+        }
+    }
+}
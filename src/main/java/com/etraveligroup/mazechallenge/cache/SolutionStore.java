@@ -0,0 +1,99 @@
+package com.etraveligroup.mazechallenge.cache;
+
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * <p>Keeps the solved paths of a {@link SolutionCache} in a local directory, one file per key, so they survive a restart. A file
+ * is written to a temporary file first and moved in place, readers never see a partly written path.</p>
+ *
+ * <p>File layout: magic {@code "MZSC"}, version, solver name, seed, then the path (see {@link CompactPath#writeTo}).</p>
+ */
+public class SolutionStore {
+
+    private static final Logger logger = LogManager.getLogger(SolutionStore.class);
+
+    private static final int MAGIC = 'M' << 24 | 'Z' << 16 | 'S' << 8 | 'C';
+
+    private static final short VERSION = 1;
+
+    private final Path directory;
+
+    /**
+     * @param directory The directory of the paths, created if missing
+     */
+    public SolutionStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * @return The stored path of the key, null if not stored or unreadable
+     */
+    public CompactPath read(SolutionCache.Key key) {
+        Path file = directory.resolve(key.fileName());
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("Not a solution file");
+            }
+            // Different keys may share a file name, the file tells which key it belongs to
+            String solverName = input.readUTF();
+            Long seed = input.readBoolean() ? input.readLong() : null;
+            if (!key.matches(solverName, seed)) {
+                return null;
+            }
+            return CompactPath.readFrom(input);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            logger.warn("Ignoring unreadable solution " + file + ": " + ex);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the path of the key, replacing any previous one. Failures are logged, the store is only a cache.
+     */
+    public void write(SolutionCache.Key key, CompactPath path) {
+        Path file = directory.resolve(key.fileName());
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, key.fileName(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                output.writeUTF(key.getSolverName());
+                output.writeBoolean(key.getSeed() != null);
+                if (key.getSeed() != null) {
+                    output.writeLong(key.getSeed());
+                }
+                path.writeTo(output);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed to store solution " + file + ": " + ex);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Left for the next cleanup of the directory
+                }
+            }
+        }
+    }
+}
@@ -4,43 +4,63 @@ import com.etraveligroup.mazechallenge.model.block.Coordinates;
 
 public class Actor {
 
-    private Coordinates currentPosition;
+    private int x;
+
+    private int y;
+
+    private boolean positioned;
 
     public Actor() {
 
     }
 
     public Actor(Coordinates currentPosition) {
-        this.currentPosition = currentPosition;
+        setCurrentPosition(currentPosition);
     }
 
     public Coordinates move(Directions direction) {
-        int x = currentPosition.getX(), y = currentPosition.getY();
-
-        switch (direction) {
-            case EAST:
-                y++;
-                break;
-            case WEST:
-                y--;
-                break;
-            case NORTH:
-                x--;
-                break;
-            case SOUTH:
-                x++;
-                break;
-        }
-        currentPosition = new Coordinates(x, y);
+        step(direction);
+
+        return getCurrentPosition();
+    }
+
+    /**
+     * Moves the actor one block towards the given direction without creating a {@code Coordinates} object
+     *
+     * @param direction The direction of the move
+     */
+    public void step(Directions direction) {
+        x += direction.getDx();
+        y += direction.getDy();
+    }
 
-        return currentPosition;
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public boolean isAt(int x, int y) {
+        return positioned && this.x == x && this.y == y;
     }
 
     public Coordinates getCurrentPosition() {
-        return currentPosition;
+        return positioned ? new Coordinates(x, y) : null;
     }
 
     public void setCurrentPosition(Coordinates currentPosition) {
-        this.currentPosition = currentPosition;
+        if (currentPosition == null) {
+            positioned = false;
+        } else {
+            setCurrentPosition(currentPosition.getX(), currentPosition.getY());
+        }
+    }
+
+    public void setCurrentPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+        this.positioned = true;
     }
 }
@@ -1,8 +1,68 @@
 package com.etraveligroup.mazechallenge.model.actor;
 
 public enum Directions {
-    NORTH,
-    SOUTH,
-    WEST,
-    EAST
+    NORTH(-1, 0),
+    SOUTH(1, 0),
+    WEST(0, -1),
+    EAST(0, 1);
+
+    private static final Directions[] BY_ORDINAL = values();
+
+    /**
+     * Bit mask with one bit set for every direction
+     */
+    public static final int ALL = (1 << BY_ORDINAL.length) - 1;
+
+    private final int dx;
+
+    private final int dy;
+
+    Directions(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /**
+     * @return The change of the row (x) when moving towards this direction
+     */
+    public int getDx() {
+        return dx;
+    }
+
+    /**
+     * @return The change of the column (y) when moving towards this direction
+     */
+    public int getDy() {
+        return dy;
+    }
+
+    /**
+     * @return The bit representing this direction in a direction mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public Directions opposite() {
+        switch (this) {
+            case EAST:
+                return WEST;
+            case WEST:
+                return EAST;
+            case NORTH:
+                return SOUTH;
+            default:
+                return NORTH;
+        }
+    }
+
+    /**
+     * Returns the direction with the given ordinal without allocating a {@code values()} copy
+     *
+     * @param ordinal The ordinal of the direction
+     * @return The direction with the given ordinal
+     */
+    public static Directions fromOrdinal(int ordinal) {
+        return BY_ORDINAL[ordinal];
+    }
 }
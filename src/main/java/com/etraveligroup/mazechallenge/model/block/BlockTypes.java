@@ -4,5 +4,26 @@ public enum BlockTypes {
     START,
     WALL,
     EMPTY,
-    END
+    END;
+
+    private static final BlockTypes[] BY_CODE = values();
+
+    /**
+     * Returns the compact code used to store this block type in a maze grid
+     *
+     * @return The one byte code of the block type
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Returns the block type stored in a maze grid with the given code
+     *
+     * @param code The one byte code of the block type
+     * @return The block type of the given code
+     */
+    public static BlockTypes fromCode(byte code) {
+        return BY_CODE[code];
+    }
 }
@@ -0,0 +1,73 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+/**
+ * Dense {@link MazeGrid} holding one byte per cell in a flat array indexed by {@code (x - 1) * width + (y - 1)}.
+ */
+public class ArrayMazeGrid implements MazeGrid {
+
+    /**
+     * Largest array size the JVM reliably allocates
+     */
+    public static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final byte[] cells;
+
+    private final int width;
+
+    private final int height;
+
+    public ArrayMazeGrid(int width, int height) {
+        this(new byte[checkedSize(width, height)], width, height);
+    }
+
+    /**
+     * Wraps an already filled array of cell codes. The array may be larger than {@code width * height},
+     * the extra capacity is ignored.
+     */
+    public ArrayMazeGrid(byte[] cells, int width, int height) {
+        if (cells.length < checkedSize(width, height)) {
+            throw new IllegalArgumentException("Grid array too small for " + height + "x" + width + " maze");
+        }
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Returns the number of cells of a {@code width x height} grid
+     *
+     * @throws IllegalArgumentException if the grid does not fit in a single array
+     */
+    public static int checkedSize(int width, int height) {
+        long size = (long) width * height;
+        if (width < 0 || height < 0 || size > MAX_CELLS) {
+            throw new IllegalArgumentException("Maze of " + height + "x" + width + " cells does not fit in a dense grid");
+        }
+        return (int) size;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public byte getCell(int x, int y) {
+        return cells[(x - 1) * width + (y - 1)];
+    }
+
+    @Override
+    public void setCell(int x, int y, byte code) {
+        cells[(x - 1) * width + (y - 1)] = code;
+    }
+
+    @Override
+    public void setRow(int x, byte[] codes, int offset) {
+        System.arraycopy(codes, offset, cells, (x - 1) * width, width);
+    }
+}
@@ -0,0 +1,49 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Layout of the binary maze files, written by {@link BinaryMazeWriter} and loaded by {@link MazeBuilder}.</p>
+ *
+ * <p>A 48 bytes big endian header:</p>
+ * <pre>
+ *  0  magic "MAZB"          4 bytes
+ *  4  version               2 bytes
+ *  6  flags (0)             2 bytes
+ *  8  width, height         4 + 4 bytes
+ * 16  start x, start y      4 + 4 bytes
+ * 24  end x, end y          4 + 4 bytes
+ * 32  body length           8 bytes
+ * 40  CRC32C of the body    4 bytes
+ * 44  reserved (0)          4 bytes
+ * </pre>
+ *
+ * <p>followed by the body: one bit per cell, set for walls, rows padded to whole bytes.
+ * Cell {@code y} of a row is bit {@code (y - 1) % 8} (least significant first) of byte {@code (y - 1) / 8} of the row.</p>
+ */
+public final class BinaryMazeFormat {
+
+    public static final int MAGIC = 'M' << 24 | 'A' << 16 | 'Z' << 8 | 'B';
+
+    public static final short VERSION = 1;
+
+    public static final int HEADER_LENGTH = 48;
+
+    private BinaryMazeFormat() {
+    }
+
+    /**
+     * @param width The width of the maze
+     * @return The bytes used by every row in the body
+     */
+    public static int rowLength(int width) {
+        return (width + 7) >>> 3;
+    }
+
+    /**
+     * Checks if the given input starts with the binary maze magic number. The buffer position is not changed.
+     */
+    public static boolean isBinaryMaze(ByteBuffer input) {
+        return input.remaining() >= Integer.BYTES && input.getInt(input.position()) == MAGIC;
+    }
+}
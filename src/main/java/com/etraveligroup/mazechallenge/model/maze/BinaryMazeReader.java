@@ -0,0 +1,105 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeSizeOutOfBoundsException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * <p>Loads binary maze files (see {@link BinaryMazeFormat}) into the maze grid.</p>
+ *
+ * <p>The cells are not validated again, they were validated when the maze was written. Only the header and the
+ * body checksum are checked, to detect truncated or corrupted files.</p>
+ */
+class BinaryMazeReader {
+
+    private static final byte WALL = BlockTypes.WALL.getCode(), EMPTY = BlockTypes.EMPTY.getCode();
+
+    /**
+     * Cell codes of the 8 cells described by every possible body byte, first cell in the lowest byte
+     */
+    private static final long[] EXPANDED = new long[256];
+
+    static {
+        for (int bits = 0; bits < 256; bits++) {
+            long codes = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                codes |= (long) ((bits >>> bit & 1) != 0 ? WALL : EMPTY) << (bit * 8);
+            }
+            EXPANDED[bits] = codes;
+        }
+    }
+
+    private final ByteBuffer input;
+
+    private final MazeGridFactory gridFactory;
+
+    /**
+     * @param input       The whole binary maze file
+     * @param gridFactory Creates the grid of the maze
+     */
+    BinaryMazeReader(ByteBuffer input, MazeGridFactory gridFactory) {
+        this.input = input.slice().order(ByteOrder.BIG_ENDIAN);
+        this.gridFactory = gridFactory;
+    }
+
+    void read(Maze maze) throws MazeFileMalformedException, IOException {
+        if (input.remaining() < BinaryMazeFormat.HEADER_LENGTH || input.getInt(0) != BinaryMazeFormat.MAGIC) {
+            throw new MazeFileMalformedException("Not a binary maze file");
+        } else if (input.getShort(4) != BinaryMazeFormat.VERSION) {
+            throw new MazeFileMalformedException("Unsupported binary maze version " + input.getShort(4));
+        }
+        int width = input.getInt(8), height = input.getInt(12);
+        int startX = input.getInt(16), startY = input.getInt(20), endX = input.getInt(24), endY = input.getInt(28);
+        long bodyLength = input.getLong(32);
+        int rowLength = BinaryMazeFormat.rowLength(width);
+
+        if (width <= 0 || height <= 0 || bodyLength != (long) rowLength * height
+                || bodyLength != input.remaining() - BinaryMazeFormat.HEADER_LENGTH
+                || !isWithin(startX, startY, width, height) || !isWithin(endX, endY, width, height)) {
+            throw new MazeFileMalformedException("Binary maze file truncated or with invalid header");
+        }
+        ByteBuffer body = input.duplicate();
+        body.position(BinaryMazeFormat.HEADER_LENGTH);
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(body.duplicate());
+        if ((int) checksum.getValue() != input.getInt(40)) {
+            throw new MazeFileMalformedException("Binary maze file checksum mismatch");
+        }
+
+        MazeGrid grid;
+        try {
+            grid = gridFactory.create(width, height);
+        } catch (IllegalArgumentException ex) {
+            throw new MazeSizeOutOfBoundsException("Maze too large!");
+        }
+
+        // Expand every body byte to 8 cell codes, row by row
+        byte[] codes = new byte[rowLength * 8];
+        ByteBuffer codesBuffer = ByteBuffer.wrap(codes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int x = 1; x <= height; x++) {
+            int rowStart = BinaryMazeFormat.HEADER_LENGTH + (int) ((long) (x - 1) * rowLength);
+            for (int i = 0; i < rowLength; i++) {
+                codesBuffer.putLong(i * 8, EXPANDED[input.get(rowStart + i) & 0xFF]);
+            }
+            grid.setRow(x, codes, 0);
+        }
+        grid.setCell(startX, startY, BlockTypes.START.getCode());
+        grid.setCell(endX, endY, BlockTypes.END.getCode());
+
+        maze.setGrid(grid);
+        maze.setMazeStart(new Block(new Coordinates(startX, startY), BlockTypes.START));
+        maze.setMazeEnd(new Block(new Coordinates(endX, endY), BlockTypes.END));
+    }
+
+    private static boolean isWithin(int x, int y, int width, int height) {
+        return x >= 1 && y >= 1 && x <= height && y <= width;
+    }
+}
@@ -0,0 +1,95 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes mazes in the binary format described in {@link BinaryMazeFormat}, one bit per cell.
+ */
+public class BinaryMazeWriter {
+
+    private static final Logger logger = LogManager.getLogger(BinaryMazeWriter.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte WALL = BlockTypes.WALL.getCode();
+
+    /**
+     * Converts a maze text file to a binary maze file
+     *
+     * @param textFile   The maze text file
+     * @param binaryFile The binary file to create or replace
+     */
+    public static void convert(String textFile, Path binaryFile) throws MazeFileMalformedException, IOException {
+        new BinaryMazeWriter().write(new MazeBuilder(textFile).builtMaze(), binaryFile);
+    }
+
+    /**
+     * Writes the maze to the given file, replacing it if it exists
+     */
+    public void write(Maze maze, Path file) throws IOException {
+        int width = maze.getMazeWidth(), height = maze.getMazeHeight(), rowLength = BinaryMazeFormat.rowLength(width);
+        MazeGrid grid = maze.getGrid();
+        CRC32C checksum = new CRC32C();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The body goes after the header, the header is written last with the checksum
+            channel.position(BinaryMazeFormat.HEADER_LENGTH);
+
+            ByteBuffer body = ByteBuffer.allocate(Math.max(BUFFER_SIZE, rowLength));
+            for (int x = 1; x <= height; x++) {
+                if (body.remaining() < rowLength) {
+                    flush(channel, body, checksum);
+                }
+                for (int i = 0; i < rowLength; i++) {
+                    int bits = 0;
+                    for (int bit = 0, y = i * 8 + 1; bit < 8 && y <= width; bit++, y++) {
+                        if (grid.getCell(x, y) == WALL) {
+                            bits |= 1 << bit;
+                        }
+                    }
+                    body.put((byte) bits);
+                }
+            }
+            flush(channel, body, checksum);
+
+            Coordinates start = maze.getMazeStart().getCoordinates(), end = maze.getMazeEnd().getCoordinates();
+            ByteBuffer header = ByteBuffer.allocate(BinaryMazeFormat.HEADER_LENGTH);
+            header.putInt(BinaryMazeFormat.MAGIC)
+                    .putShort(BinaryMazeFormat.VERSION)
+                    .putShort((short) 0)
+                    .putInt(width).putInt(height)
+                    .putInt(start.getX()).putInt(start.getY())
+                    .putInt(end.getX()).putInt(end.getY())
+                    .putLong((long) rowLength * height)
+                    .putInt((int) checksum.getValue())
+                    .putInt(0)
+                    .flip();
+            while (header.hasRemaining()) {
+                // The header starts at the beginning of the file, so buffer and file positions match
+                channel.write(header, header.position());
+            }
+        }
+        logger.info("Binary maze written to: " + file);
+    }
+
+    private void flush(FileChannel channel, ByteBuffer body, CRC32C checksum) throws IOException {
+        body.flip();
+        checksum.update(body.duplicate());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        body.clear();
+    }
+}
@@ -4,7 +4,7 @@ public class FileValidator {
 
     private int startPointCount = 0, endPointCount = 0;
 
-    public boolean validateNextCharacter(Character c) {
+    public boolean validateNextCharacter(char c) {
         switch (c) {
             case '_':
             case 'X':
@@ -26,4 +26,12 @@ public class FileValidator {
         return endPointCount != 0;
     }
 
+    public int getStartPointCount() {
+        return startPointCount;
+    }
+
+    public int getEndPointCount() {
+        return endPointCount;
+    }
+
 }
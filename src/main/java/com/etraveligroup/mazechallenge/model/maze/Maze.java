@@ -1,15 +1,33 @@
 package com.etraveligroup.mazechallenge.model.maze;
 
 import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
 import com.etraveligroup.mazechallenge.model.block.Coordinates;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Maze {
 
     public static final int MAX_DIMENSION = Integer.MAX_VALUE;
 
+    private static final byte WALL = BlockTypes.WALL.getCode();
+
+    /**
+     * The characters of the maze file format, by block code
+     */
+    private static final char[] FILE_CHARACTERS = new char[BlockTypes.values().length];
+
+    static {
+        FILE_CHARACTERS[BlockTypes.START.getCode()] = 'S';
+        FILE_CHARACTERS[WALL] = 'X';
+        FILE_CHARACTERS[BlockTypes.EMPTY.getCode()] = '_';
+        FILE_CHARACTERS[BlockTypes.END.getCode()] = 'G';
+    }
+
     private int mazeHeight;
 
     private int mazeWidth;
@@ -20,19 +38,198 @@ public class Maze {
 
     private String name;
 
-    private Map<Coordinates, Block> blocks = new HashMap<>();
+    /**
+     * The cells of the maze, one code per cell
+     */
+    private MazeGrid grid;
+
+    /**
+     * Compatibility view of the grid, materialized on the first {@link #getBlocks()} call
+     */
+    private Map<Coordinates, Block> blocks;
+
+    private final List<MazeChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     protected Maze() {
     }
 
+    /**
+     * <p>Returns every block of the maze keyed by its coordinates.</p>
+     *
+     * <p>The map is materialized from the grid on first access and costs two objects per cell.
+     * Prefer {@link #getBlockType(int, int)} and {@link #isAccessible(int, int)} for large mazes.</p>
+     *
+     * @return All the blocks of the maze
+     */
     public Map<Coordinates, Block> getBlocks() {
+        if (blocks == null && grid != null) {
+            Map<Coordinates, Block> materialized = new HashMap<>();
+            for (int x = 1, height = getMazeHeight(); x <= height; x++) {
+                for (int y = 1; y <= mazeWidth; y++) {
+                    Coordinates coordinates = new Coordinates(x, y);
+                    materialized.put(coordinates, new Block(coordinates, BlockTypes.fromCode(grid.getCell(x, y))));
+                }
+            }
+            blocks = materialized;
+        }
         return blocks;
     }
 
+    /**
+     * Replaces the cells of the maze with the given blocks. Maze height and width must already be set,
+     * coordinates without a block are stored as walls.
+     *
+     * @deprecated Use {@link #setGrid(MazeGrid)}
+     */
+    @Deprecated
     public void setBlocks(Map<Coordinates, Block> blocks) {
+        ArrayMazeGrid newGrid = new ArrayMazeGrid(mazeWidth, mazeHeight);
+        for (int x = 1; x <= mazeHeight; x++) {
+            for (int y = 1; y <= mazeWidth; y++) {
+                Block block = blocks.get(new Coordinates(x, y));
+                newGrid.setCell(x, y, block != null ? block.getBlockType().getCode() : WALL);
+            }
+        }
+        this.grid = newGrid;
         this.blocks = blocks;
     }
 
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    public void setGrid(MazeGrid grid) {
+        attachGrid(grid);
+        this.mazeHeight = grid.getHeight();
+        this.mazeWidth = grid.getWidth();
+    }
+
+    /**
+     * Sets the grid without reading its size, for grids still being loaded
+     */
+    void attachGrid(MazeGrid grid) {
+        this.grid = grid;
+        this.blocks = null;
+    }
+
+    /**
+     * Checks if the given coordinates are within the bounds of the maze
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return True if the coordinates are within the maze
+     */
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 1 && y >= 1 && x <= mazeHeight && y <= mazeWidth;
+    }
+
+    /**
+     * Returns a unique, dense index for the block on the given coordinates: {@code (x - 1) * width + (y - 1)}
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return The cell index of the block
+     */
+    public long getCellIndex(int x, int y) {
+        return (long) (x - 1) * mazeWidth + (y - 1);
+    }
+
+    /**
+     * Returns the type of the block on the given coordinates
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return The type of the block, or null if the coordinates are out of the maze
+     */
+    public BlockTypes getBlockType(int x, int y) {
+        return isWithinBounds(x, y) ? BlockTypes.fromCode(grid.getCell(x, y)) : null;
+    }
+
+    /**
+     * An actor may access a block if it is within the bounds of the maze and if it is not a wall
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return True if the block on the given coordinates is accessible
+     */
+    public boolean isAccessible(int x, int y) {
+        return isWithinBounds(x, y) && grid.getCell(x, y) != WALL;
+    }
+
+    /**
+     * Returns the block on the given coordinates. A new {@code Block} is created on each call.
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return The block, or null if the coordinates are out of the maze
+     */
+    public Block getBlock(int x, int y) {
+        BlockTypes blockType = getBlockType(x, y);
+        return blockType != null ? new Block(new Coordinates(x, y), blockType) : null;
+    }
+
+    /**
+     * <p>Applies a batch of cell changes and notifies the change listeners once with the cells it changed.
+     * The whole batch is validated first: if a change is out of bounds or targets the start or end point, nothing is changed.</p>
+     *
+     * <p>Updates must not run concurrently with solvers reading the maze, apply them between runs.</p>
+     *
+     * @param update The cell changes
+     * @throws IllegalArgumentException If a change is out of bounds or targets the start or end point
+     */
+    public void apply(MazeUpdate update) {
+        for (int i = 0; i < update.size(); i++) {
+            int x = update.getX(i), y = update.getY(i);
+            if (!isWithinBounds(x, y)) {
+                throw new IllegalArgumentException("Block (" + x + ":" + y + ") is out of the maze");
+            }
+            BlockTypes current = BlockTypes.fromCode(grid.getCell(x, y));
+            if (current == BlockTypes.START || current == BlockTypes.END) {
+                throw new IllegalArgumentException("The " + current + " block (" + x + ":" + y + ") cannot be changed");
+            }
+        }
+
+        long[] changed = new long[update.size()];
+        int count = 0;
+        for (int i = 0; i < update.size(); i++) {
+            int x = update.getX(i), y = update.getY(i);
+            byte code = update.getType(i).getCode();
+            if (grid.getCell(x, y) != code) {
+                grid.setCell(x, y, code);
+                changed[count++] = getCellIndex(x, y);
+                if (blocks != null) {
+                    Coordinates coordinates = new Coordinates(x, y);
+                    blocks.put(coordinates, new Block(coordinates, update.getType(i)));
+                }
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        // A cell changed twice in the batch is reported once
+        changed = Arrays.copyOf(changed, count);
+        Arrays.sort(changed);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || changed[i] != changed[i - 1]) {
+                changed[distinct++] = changed[i];
+            }
+        }
+        long[] cells = distinct == count ? changed : Arrays.copyOf(changed, distinct);
+        for (MazeChangeListener listener : changeListeners) {
+            listener.cellsChanged(this, cells);
+        }
+    }
+
+    public void addChangeListener(MazeChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(MazeChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
     public Block getMazeStart() {
         return mazeStart;
     }
@@ -45,6 +242,18 @@ public class Maze {
         return mazeEnd;
     }
 
+    /**
+     * Checks if the end point is on the given coordinates, without creating any object
+     *
+     * @param x The row of the block
+     * @param y The column of the block
+     * @return True if the given coordinates are the end point of the maze
+     */
+    public boolean isMazeEnd(int x, int y) {
+        Coordinates end = mazeEnd.getCoordinates();
+        return end.getX() == x && end.getY() == y;
+    }
+
     public void setMazeEnd(Block mazeEnd) {
         this.mazeEnd = mazeEnd;
     }
@@ -73,17 +282,21 @@ public class Maze {
         this.name = name;
     }
 
+    /**
+     * Returns the maze in the maze file format, a character per block and a line per row. Large mazes should rather be written
+     * with {@code MazeRenderer} straight to their destination.
+     */
     @Override
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
-
-        for (int x=1;x<=mazeHeight;x++) {
-            for (int y=1;y<=mazeWidth;y++) {
-                stringBuilder.append(blocks.get(new Coordinates(x, y)).getBlockType()).append(" ");
+        StringBuilder text = new StringBuilder();
+        MazeGrid grid = getGrid();
+        for (int x = 1; x <= getMazeHeight(); x++) {
+            for (int y = 1; y <= getMazeWidth(); y++) {
+                text.append(FILE_CHARACTERS[grid.getCell(x, y)]);
             }
-            stringBuilder.append("\n");
+            text.append('\n');
         }
-        return stringBuilder.toString();
+        return text.toString();
     }
 
 }
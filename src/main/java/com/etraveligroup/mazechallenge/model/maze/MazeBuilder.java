@@ -1,21 +1,19 @@
 package com.etraveligroup.mazechallenge.model.maze;
 
-import com.etraveligroup.mazechallenge.model.block.Block;
-import com.etraveligroup.mazechallenge.model.block.BlockTypes;
-import com.etraveligroup.mazechallenge.model.block.Coordinates;
-import com.etraveligroup.mazechallenge.model.maze.throwable.EmptyMazeFileException;
-import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileIllegalCharacterException;
 import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
 import com.etraveligroup.mazechallenge.model.maze.throwable.MazeSizeOutOfBoundsException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeUnsolvableException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Maze Builder class is used for building mazes from external sources. Also provides validation while building the maze.
@@ -38,75 +36,140 @@ public class MazeBuilder {
     }
 
     private Maze maze = new Maze();
-    private FileValidator validator = new FileValidator();
 
-    public Maze builtMaze() throws MazeFileMalformedException, IOException {
-        Map<Coordinates, Block> blocks = new HashMap<>();
+    /**
+     * Pool used to parse large files in parallel, null to parse on the calling thread
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * Creates the grid of the maze, dense in memory by default
+     */
+    private MazeGridFactory gridFactory = MazeGridFactory.ARRAY;
+
+    /**
+     * <p>Sets how the cells of the maze are stored, for example {@link TiledMazeGrid#factory} for mazes larger than the memory.</p>
+     *
+     * <p>The builder does not keep the grids it creates: a grid holding resources, as a {@link TiledMazeGrid} holds its backing
+     * file, is closed by the caller through {@link Maze#getGrid()} once the maze is no longer used.</p>
+     *
+     * @param gridFactory Creates the grid of the maze
+     */
+    public void setGridFactory(MazeGridFactory gridFactory) {
+        this.gridFactory = gridFactory;
+    }
+
+    private boolean reachabilityCheck = false;
+
+    private ReachabilityReport reachabilityReport;
+
+    /**
+     * <p>Enables a validation stage after parsing: a flood fill from the start point rejects mazes whose end point can not be reached
+     * (solvers would never terminate on them). It runs on the fork-join pool too, when one is set.</p>
+     *
+     * @param reachabilityCheck True to reject unsolvable mazes with {@code MazeUnsolvableException}
+     */
+    public void setReachabilityCheck(boolean reachabilityCheck) {
+        this.reachabilityCheck = reachabilityCheck;
+    }
+
+    /**
+     * @return The reachability statistics of the last built maze, or null if the reachability check is not enabled
+     */
+    public ReachabilityReport getReachabilityReport() {
+        return reachabilityReport;
+    }
 
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(FILE_PATH))) {
+    /**
+     * <p>Parses the maze file in parallel chunks of rows on the given pool (for example {@code ForkJoinPool.commonPool()}).
+     * Small files are still parsed on the calling thread.</p>
+     *
+     * @param forkJoinPool The pool, or null to parse on the calling thread (default)
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * <p>Builds the maze from the external file. Text files are memory mapped and parsed at byte level by {@link MazeFileParser}.
+     * Binary maze files (see {@link BinaryMazeFormat}) are recognized by their magic number and loaded without validating the cells.</p>
+     *
+     * @return The maze
+     * @throws MazeFileMalformedException If the file does not exist or does not describe a valid maze. The message gives the line
+     *                                    and column of the first illegal character.
+     */
+    public Maze builtMaze() throws MazeFileMalformedException, IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(FILE_PATH), StandardOpenOption.READ)) {
             logger.info("Maze built started...");
             logger.info("Reading from file: " + FILE_PATH);
 
-            String line;
-            int lineCount = 0, x = 1, y = 1;
-
-            while ((line = bufferedReader.readLine()) != null) {
-                try {
-                    lineCount++;
-                    int lineLentgh = line.length();
-                } catch (ArithmeticException ex) {
+            if (isBinaryMaze(channel)) {
+                // Binary mazes are mapped at once, 1 bit per cell
+                if (channel.size() > Integer.MAX_VALUE) {
                     throw new MazeSizeOutOfBoundsException("Maze too large!");
                 }
-
-                char[] tempArr = line.toCharArray();
-                y = 1;
-                for (char ch : tempArr) {
-                    if (validator.validateNextCharacter(ch)) {
-                        Coordinates cor = new Coordinates(x, y++);
-                        blocks.put(cor, new Block(cor, mapBlockType(cor, ch)));
-                    } else {
-                        throw new MazeFileIllegalCharacterException("Not acceptable character!");
-                    }
-                }
-                x++;
-            }
-            maze.setMazeHeight(lineCount);
-            maze.setMazeWidth(y - 1);
-
-            if (lineCount == 0) {
-                throw new EmptyMazeFileException("Empty maze!");
-            } else if (!validator.startPointExist()) {
-                throw new MazeFileMalformedException("Maze should always have 1 start point");
-            } else if (!validator.endPointExist()) {
-                throw new MazeFileMalformedException("Maze should always have 1 end point");
+                new BinaryMazeReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), gridFactory).read(maze);
+            } else if (forkJoinPool != null) {
+                new MazeFileParser(channel, gridFactory).parseParallel(maze, forkJoinPool);
+            } else {
+                new MazeFileParser(channel, gridFactory).parse(maze);
             }
+
             logger.info("File :" + FILE_PATH + " reading completed!");
+
+            if (reachabilityCheck) {
+                checkReachability();
+            }
             logger.info("Maze built competed!\n");
 
-        } catch (FileNotFoundException f) {
+        } catch (NoSuchFileException | InvalidPathException f) {
             throw new MazeFileMalformedException("Error! File does not exist");
         } catch (IOException e) {
             logger.error("Error! Unexpacted problem while reading file");
             throw e;
         }
-        maze.setBlocks(blocks);
         maze.setName("Maze :" + FILE_PATH);
 
         return maze;
     }
 
-    private BlockTypes mapBlockType(Coordinates coordinates, char c) {
-        switch (c) {
-            case '_':
-                return BlockTypes.EMPTY;
-            case 'X':
-                return BlockTypes.WALL;
-            case 'S':
-                maze.setMazeStart(new Block(coordinates, BlockTypes.START));
-                return BlockTypes.START;
-            default:
-                maze.setMazeEnd(new Block(coordinates, BlockTypes.END));
-                return BlockTypes.END;
+    /**
+     * <p>Builds the maze from the content of a maze file already in memory, for example the body of a request. Text and binary
+     * mazes are told apart by the magic number as for files, the maze is named after the path of this builder.</p>
+     *
+     * @param content The text or binary maze, from its position to its limit. The position is not changed
+     * @return The maze
+     * @throws MazeFileMalformedException If the content does not describe a valid maze
+     */
+    public Maze builtMaze(ByteBuffer content) throws MazeFileMalformedException, IOException {
+        if (BinaryMazeFormat.isBinaryMaze(content.duplicate())) {
+            new BinaryMazeReader(content, gridFactory).read(maze);
+        } else {
+            new MazeFileParser(content, gridFactory).parse(maze);
+        }
+        if (reachabilityCheck) {
+            checkReachability();
+        }
+        maze.setName("Maze :" + FILE_PATH);
+
+        return maze;
+    }
+
+    private boolean isBinaryMaze(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+            // Read the first bytes of the file
+        }
+        magic.flip();
+        return BinaryMazeFormat.isBinaryMaze(magic);
+    }
+
+    private void checkReachability() throws MazeUnsolvableException {
+        reachabilityReport = new ReachabilityAnalyzer(forkJoinPool).analyze(maze);
+        logger.info("Reachability: " + reachabilityReport);
+
+        if (!reachabilityReport.isEndReachable()) {
+            throw new MazeUnsolvableException("End point is not reachable from start point: " + reachabilityReport);
         }
     }
 
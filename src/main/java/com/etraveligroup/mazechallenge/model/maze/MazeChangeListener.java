@@ -0,0 +1,13 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+/**
+ * Notified after a {@link MazeUpdate} changed cells of a maze
+ */
+public interface MazeChangeListener {
+
+    /**
+     * @param maze  The changed maze
+     * @param cells The cell indices of the changed cells (see {@link Maze#getCellIndex(int, int)}), each once
+     */
+    void cellsChanged(Maze maze, long[] cells);
+}
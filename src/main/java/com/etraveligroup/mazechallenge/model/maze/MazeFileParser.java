@@ -0,0 +1,383 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.throwable.EmptyMazeFileException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileIllegalCharacterException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeSizeOutOfBoundsException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>Parses maze text files at byte level. The file is memory mapped, in windows of whole rows, and scanned straight into the
+ * maze grid without creating any object per cell.</p>
+ *
+ * <p>All rows must have the width of the first row and end with the same line break ({@code \n} or {@code \r\n}),
+ * so the position of every row in the file is known in advance. Cells are validated and converted to block type codes
+ * 8 bytes at a time (SWAR): a byte is accepted if it equals one of {@code _ X S G}.</p>
+ */
+class MazeFileParser {
+
+    /**
+     * Largest part of the file mapped at once
+     */
+    private static final long MAX_WINDOW = 1L << 30;
+
+    /**
+     * Smallest chunk of rows parsed by a single task of {@link #parseParallel(Maze, ForkJoinPool)}
+     */
+    private static final long MIN_CHUNK_BYTES = 1L << 16;
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final long EMPTY_BYTES = ONES * '_', WALL_BYTES = ONES * 'X', START_BYTES = ONES * 'S', END_BYTES = ONES * 'G';
+
+    private static final byte START = BlockTypes.START.getCode(), WALL = BlockTypes.WALL.getCode(),
+            EMPTY = BlockTypes.EMPTY.getCode(), END = BlockTypes.END.getCode();
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final MazeGridFactory gridFactory;
+
+    /**
+     * Size of the input without the trailing line breaks
+     */
+    private long size;
+
+    private int width;
+
+    private int height;
+
+    private int lineBreakLength;
+
+    /**
+     * Distance in bytes between the beginning of two consecutive rows
+     */
+    private long stride;
+
+    MazeFileParser(FileChannel channel, MazeGridFactory gridFactory) throws IOException {
+        this.channel = channel;
+        this.buffer = null;
+        this.gridFactory = gridFactory;
+        this.size = channel.size();
+    }
+
+    MazeFileParser(ByteBuffer buffer, MazeGridFactory gridFactory) {
+        this.channel = null;
+        this.gridFactory = gridFactory;
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.size = this.buffer.remaining();
+    }
+
+    /**
+     * Parses the input into the given maze
+     */
+    void parse(Maze maze) throws MazeFileMalformedException, IOException {
+        readLayout();
+        parseRows(maze);
+    }
+
+    /**
+     * Parses all the rows on the calling thread, once the layout is read
+     */
+    private void parseRows(Maze maze) throws MazeFileMalformedException, IOException {
+        MazeGrid grid = createGrid();
+
+        Rows rows = new Rows();
+        int rowsPerWindow = rowsPerWindow();
+        for (int row = 0; row < height; row += rowsPerWindow) {
+            parseRows(row, Math.min(rowsPerWindow, height - row), grid, rows);
+        }
+        complete(maze, grid, rows);
+    }
+
+    /**
+     * <p>Parses the input into the given maze on a fork-join pool.</p>
+     *
+     * <p>The rows are split in chunks that are parsed and validated concurrently, each chunk writing its own rows of the grid.
+     * The per chunk start and end points are then merged and the error of the first chunk in file order, if any, is thrown.</p>
+     */
+    void parseParallel(Maze maze, ForkJoinPool pool) throws MazeFileMalformedException, IOException {
+        readLayout();
+
+        // Enough chunks to keep every worker busy, without mapping tiny windows
+        long chunkBytes = Math.max(MIN_CHUNK_BYTES, size / ((long) pool.getParallelism() * CHUNKS_PER_WORKER));
+        int rowsPerChunk = (int) Math.min(rowsPerWindow(), Math.max(1, chunkBytes / stride));
+        if (rowsPerChunk >= height) {
+            // A single chunk, decided before the grid is allocated
+            parseRows(maze);
+            return;
+        }
+        MazeGrid grid = createGrid();
+
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        for (int row = 0; row < height; row += rowsPerChunk) {
+            int firstRow = row, count = Math.min(rowsPerChunk, height - row);
+            tasks.add(ForkJoinTask.adapt(() -> parseChunk(firstRow, count, grid)));
+        }
+        for (ForkJoinTask<Chunk> task : tasks) {
+            pool.execute(task);
+        }
+
+        Rows merged = new Rows();
+        for (ForkJoinTask<Chunk> task : tasks) {
+            Chunk chunk = task.join();
+            if (chunk.error instanceof IOException) {
+                throw (IOException) chunk.error;
+            } else if (chunk.error != null) {
+                throw (MazeFileMalformedException) chunk.error;
+            }
+            merged.merge(chunk.rows);
+        }
+        complete(maze, grid, merged);
+    }
+
+    private Chunk parseChunk(int firstRow, int count, MazeGrid grid) {
+        Chunk chunk = new Chunk();
+        try {
+            parseRows(firstRow, count, grid, chunk.rows);
+        } catch (MazeFileMalformedException | IOException ex) {
+            chunk.error = ex;
+        }
+        return chunk;
+    }
+
+    /**
+     * Finds the width of the rows, the line break and the number of rows
+     */
+    void readLayout() throws MazeFileMalformedException, IOException {
+        // Ignore the line breaks at the end of the file
+        while (size > 0) {
+            byte last = window(size - 1, 1).get(0);
+            if (last != '\n' && last != '\r') {
+                break;
+            }
+            size--;
+        }
+        if (size == 0) {
+            throw new EmptyMazeFileException("Empty maze!");
+        }
+
+        // The first line break gives the width of all the rows
+        ByteBuffer first = window(0, (int) Math.min(size, Integer.MAX_VALUE));
+        long lineEnd = -1;
+        for (int i = 0; i < first.limit(); i++) {
+            if (first.get(i) == '\n') {
+                lineEnd = i;
+                break;
+            }
+        }
+        if (lineEnd < 0) {
+            lineEnd = size;
+            lineBreakLength = 0;
+        } else {
+            lineBreakLength = lineEnd > 0 && first.get((int) lineEnd - 1) == '\r' ? 2 : 1;
+        }
+        long firstWidth = lineEnd - (lineBreakLength == 2 ? 1 : 0);
+
+        if (firstWidth == 0) {
+            throw new MazeFileMalformedException("Maze rows should not be empty (line 1)");
+        } else if (firstWidth > Maze.MAX_DIMENSION || firstWidth + lineBreakLength > MAX_WINDOW) {
+            throw new MazeSizeOutOfBoundsException("Maze too large!");
+        }
+        width = (int) firstWidth;
+        stride = width + lineBreakLength;
+
+        // Every row but the last one ends with a line break
+        long rowCount = (size + lineBreakLength + stride - 1) / stride;
+        if (rowCount > Maze.MAX_DIMENSION) {
+            throw new MazeSizeOutOfBoundsException("Maze too large!");
+        }
+        height = (int) rowCount;
+    }
+
+    MazeGrid createGrid() throws MazeSizeOutOfBoundsException, IOException {
+        try {
+            return gridFactory.create(width, height);
+        } catch (IllegalArgumentException ex) {
+            throw new MazeSizeOutOfBoundsException("Maze too large!");
+        }
+    }
+
+    int rowsPerWindow() {
+        return (int) Math.max(1, MAX_WINDOW / stride);
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Parses {@code count} rows starting from row {@code firstRow} (0-based) into the grid
+     */
+    void parseRows(int firstRow, int count, MazeGrid grid, Rows rows) throws MazeFileMalformedException, IOException {
+        long offset = firstRow * stride;
+        ByteBuffer window = window(offset, (int) Math.min(count * stride, size - offset));
+
+        byte[] codes = new byte[width];
+        ByteBuffer codesBuffer = ByteBuffer.wrap(codes).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int r = 0; r < count; r++) {
+            int x = firstRow + r + 1, base = (int) (r * stride);
+            boolean lastRow = x == height;
+
+            // The row and its line break must be within the file
+            if (offset + base + width + (lastRow ? 0 : lineBreakLength) > size) {
+                throw widthMismatch(x);
+            }
+
+            int i = 0;
+            for (; i + Long.BYTES <= width; i += Long.BYTES) {
+                long word = window.getLong(base + i);
+                long empty = zeroBytes(word ^ EMPTY_BYTES), wall = zeroBytes(word ^ WALL_BYTES),
+                        start = zeroBytes(word ^ START_BYTES), end = zeroBytes(word ^ END_BYTES);
+
+                long valid = empty | wall | start | end;
+                if (valid != HIGH_BITS) {
+                    int position = i + (Long.numberOfTrailingZeros(~valid & HIGH_BITS) >>> 3);
+                    throw illegalCharacter(window.get(base + position), x, position + 1);
+                }
+                if ((start | end) != 0) {
+                    for (long special = start | end; special != 0; special &= special - 1) {
+                        int position = i + (Long.numberOfTrailingZeros(special) >>> 3);
+                        rows.mark(window.get(base + position), x, position + 1);
+                    }
+                }
+                // Every byte mask holds 0x80 for matching bytes, shifted to 0x01 and scaled by the block type code
+                codesBuffer.putLong(i, (empty >>> 7) * EMPTY + (wall >>> 7) * WALL + (start >>> 7) * START + (end >>> 7) * END);
+            }
+            for (; i < width; i++) {
+                byte b = window.get(base + i);
+                switch (b) {
+                    case '_':
+                        codes[i] = EMPTY;
+                        break;
+                    case 'X':
+                        codes[i] = WALL;
+                        break;
+                    case 'S':
+                    case 'G':
+                        rows.mark(b, x, i + 1);
+                        codes[i] = b == 'S' ? START : END;
+                        break;
+                    default:
+                        throw illegalCharacter(b, x, i + 1);
+                }
+            }
+
+            if (lastRow ? offset + base + width != size : !isLineBreak(window, base + width)) {
+                throw widthMismatch(x);
+            }
+            grid.setRow(x, codes, 0);
+        }
+    }
+
+    /**
+     * Validates the start and end points and fills the maze
+     */
+    void complete(Maze maze, MazeGrid grid, Rows rows) throws MazeFileMalformedException {
+        if (!rows.validator.startPointExist()) {
+            throw new MazeFileMalformedException("Maze should always have 1 start point");
+        } else if (!rows.validator.endPointExist()) {
+            throw new MazeFileMalformedException("Maze should always have 1 end point");
+        }
+        maze.setGrid(grid);
+        maze.setMazeStart(new Block(new Coordinates(rows.startX, rows.startY), BlockTypes.START));
+        maze.setMazeEnd(new Block(new Coordinates(rows.endX, rows.endY), BlockTypes.END));
+    }
+
+    private boolean isLineBreak(ByteBuffer window, int position) {
+        return lineBreakLength == 1
+                ? window.get(position) == '\n'
+                : window.get(position) == '\r' && window.get(position + 1) == '\n';
+    }
+
+    private MazeFileMalformedException illegalCharacter(byte b, int x, int y) {
+        if (b == '\n' || b == '\r') {
+            return widthMismatch(x);
+        }
+        return new MazeFileIllegalCharacterException("Not acceptable character '" + (char) (b & 0xFF)
+                + "' at line " + x + ", column " + y);
+    }
+
+    private MazeFileMalformedException widthMismatch(int x) {
+        return new MazeFileMalformedException("Maze rows should all have the width of the first row (line " + x + ")");
+    }
+
+    private ByteBuffer window(long offset, int length) throws IOException {
+        if (channel != null) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        ByteBuffer window = buffer.duplicate();
+        window.position((int) offset).limit((int) offset + length);
+        return window.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns a word with the high bit set in every byte of {@code word} that is zero (exact, no false positives)
+     */
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+    }
+
+    /**
+     * Result of a chunk of rows parsed by a single task, either its start and end points or the first error found
+     */
+    private static class Chunk {
+
+        final Rows rows = new Rows();
+
+        Exception error;
+    }
+
+    /**
+     * Start and end points found in a range of rows
+     */
+    static class Rows {
+
+        final FileValidator validator = new FileValidator();
+
+        int startX, startY, endX, endY;
+
+        /**
+         * Adds the start and end points of the following range of rows
+         */
+        void merge(Rows next) throws MazeFileMalformedException {
+            if (next.validator.startPointExist()) {
+                mark((byte) 'S', next.startX, next.startY);
+            }
+            if (next.validator.endPointExist()) {
+                mark((byte) 'G', next.endX, next.endY);
+            }
+        }
+
+        void mark(byte b, int x, int y) throws MazeFileMalformedException {
+            if (!validator.validateNextCharacter((char) b)) {
+                throw new MazeFileMalformedException("Maze should always have 1 " + (b == 'S' ? "start" : "end")
+                        + " point (another one at line " + x + ", column " + y + ")");
+            }
+            if (b == 'S') {
+                startX = x;
+                startY = y;
+            } else {
+                endX = x;
+                endY = y;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+/**
+ * <p>Storage of the maze cells. Every cell is kept as the one byte code of its {@code BlockTypes}
+ * (see {@link com.etraveligroup.mazechallenge.model.block.BlockTypes#getCode()}).</p>
+ *
+ * <p>Coordinates follow the maze conventions: {@code x} is the row and {@code y} the column, both starting from 1.
+ * Bounds are checked by {@link Maze}, implementations may assume the given coordinates are within the grid.</p>
+ */
+public interface MazeGrid {
+
+    int getWidth();
+
+    int getHeight();
+
+    byte getCell(int x, int y);
+
+    void setCell(int x, int y, byte code);
+
+    /**
+     * Sets all the cells of a row
+     *
+     * @param x      The row
+     * @param codes  The codes of the row cells, {@code getWidth()} of them starting from {@code offset}
+     * @param offset The position of the first cell code in {@code codes}
+     */
+    default void setRow(int x, byte[] codes, int offset) {
+        for (int y = 1; y <= getWidth(); y++) {
+            setCell(x, y, codes[offset + y - 1]);
+        }
+    }
+}
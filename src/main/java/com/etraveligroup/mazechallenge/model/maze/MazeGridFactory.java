@@ -0,0 +1,22 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import java.io.IOException;
+
+/**
+ * Creates the grid storing the cells of a maze being built, see {@link MazeBuilder#setGridFactory(MazeGridFactory)}.
+ */
+public interface MazeGridFactory {
+
+    /**
+     * Dense in memory grids, for mazes up to {@link ArrayMazeGrid#MAX_CELLS} cells
+     */
+    MazeGridFactory ARRAY = ArrayMazeGrid::new;
+
+    /**
+     * @param width  The width of the maze
+     * @param height The height of the maze
+     * @return A grid of the given size, filled with walls or with any codes: every cell will be set by the builder
+     * @throws IllegalArgumentException If the grid can not hold a maze of the given size
+     */
+    MazeGrid create(int width, int height) throws IOException;
+}
@@ -0,0 +1,69 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+
+import java.util.Arrays;
+
+/**
+ * <p>A batch of cell changes applied at once with {@link Maze#apply(MazeUpdate)}. Only {@code WALL} and {@code EMPTY} may be
+ * set, the start and end points never change. Later changes of the same cell override earlier ones.</p>
+ *
+ * <pre>
+ *     maze.apply(new MazeUpdate().wall(3, 7).empty(4, 7));
+ * </pre>
+ */
+public class MazeUpdate {
+
+    private int[] xs = new int[8];
+
+    private int[] ys = new int[8];
+
+    private BlockTypes[] types = new BlockTypes[8];
+
+    private int size;
+
+    /**
+     * @param x    The row of the block
+     * @param y    The column of the block
+     * @param type {@code WALL} or {@code EMPTY}
+     */
+    public MazeUpdate set(int x, int y, BlockTypes type) {
+        if (type != BlockTypes.WALL && type != BlockTypes.EMPTY) {
+            throw new IllegalArgumentException("Only WALL and EMPTY blocks may be set: " + type);
+        }
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        types[size] = type;
+        size++;
+        return this;
+    }
+
+    public MazeUpdate wall(int x, int y) {
+        return set(x, y, BlockTypes.WALL);
+    }
+
+    public MazeUpdate empty(int x, int y) {
+        return set(x, y, BlockTypes.EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int getX(int index) {
+        return xs[index];
+    }
+
+    int getY(int index) {
+        return ys[index];
+    }
+
+    BlockTypes getType(int index) {
+        return types[index];
+    }
+}
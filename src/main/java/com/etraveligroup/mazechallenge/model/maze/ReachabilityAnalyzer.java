@@ -0,0 +1,210 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Checks which blocks of a maze are reachable from its start point, with a breadth first flood fill that marks visited blocks in a
+ * bitset (1 bit per block).</p>
+ *
+ * <p>With a fork-join pool, large BFS levels are expanded concurrently (the bitset is updated with compare-and-set) and the accessible
+ * blocks are counted by row ranges in parallel.</p>
+ */
+public class ReachabilityAnalyzer {
+
+    /**
+     * Smallest BFS level expanded in parallel
+     */
+    private static final int PARALLEL_FRONTIER = 1 << 13;
+
+    /**
+     * Smallest number of rows counted by a single task
+     */
+    private static final int PARALLEL_ROWS = 64;
+
+    /**
+     * Largest number of blocks of the bitset, one bit per block in an array of at most {@code Integer.MAX_VALUE} words
+     */
+    public static final long MAX_BLOCKS = (long) Integer.MAX_VALUE << 6;
+
+    private final ForkJoinPool pool;
+
+    private final int parallelFrontier;
+
+    private final int parallelRows;
+
+    public ReachabilityAnalyzer() {
+        this(null);
+    }
+
+    /**
+     * @param pool The pool for large mazes, or null to analyze on the calling thread
+     */
+    public ReachabilityAnalyzer(ForkJoinPool pool) {
+        this(pool, PARALLEL_FRONTIER, PARALLEL_ROWS);
+    }
+
+    /**
+     * @param pool             The pool for large mazes, or null to analyze on the calling thread
+     * @param parallelFrontier The smallest BFS level expanded in parallel
+     * @param parallelRows     The smallest number of rows counted by a single task
+     */
+    public ReachabilityAnalyzer(ForkJoinPool pool, int parallelFrontier, int parallelRows) {
+        if (parallelFrontier < 1 || parallelRows < 1) {
+            throw new IllegalArgumentException("Parallel thresholds must be positive");
+        }
+        this.pool = pool;
+        this.parallelFrontier = parallelFrontier;
+        this.parallelRows = parallelRows;
+    }
+
+    public ReachabilityReport analyze(Maze maze) {
+        int width = maze.getMazeWidth();
+        long totalBlocks = (long) width * maze.getMazeHeight();
+        if (totalBlocks > MAX_BLOCKS) {
+            throw new IllegalArgumentException("Maze of " + totalBlocks + " blocks too large for the reachability bitset");
+        }
+        AtomicLongArray visited = new AtomicLongArray((int) ((totalBlocks + 63) >>> 6));
+
+        Coordinates start = maze.getMazeStart().getCoordinates();
+        long startCell = maze.getCellIndex(start.getX(), start.getY());
+        mark(visited, startCell);
+
+        // Two BFS levels, swapped after every level
+        CellList frontier = new CellList(), next = new CellList();
+        frontier.add(startCell);
+
+        long reachableBlocks = 0;
+        while (frontier.size > 0) {
+            reachableBlocks += frontier.size;
+
+            next.size = 0;
+            if (pool != null && frontier.size >= parallelFrontier) {
+                expandInParallel(maze, visited, frontier, next);
+            } else {
+                expand(maze, visited, frontier, 0, frontier.size, next);
+            }
+            CellList expanded = frontier;
+            frontier = next;
+            next = expanded;
+        }
+
+        Coordinates end = maze.getMazeEnd().getCoordinates();
+        boolean endReachable = isMarked(visited, maze.getCellIndex(end.getX(), end.getY()));
+
+        return new ReachabilityReport(totalBlocks, countAccessibleBlocks(maze), reachableBlocks, endReachable);
+    }
+
+    private void expandInParallel(Maze maze, AtomicLongArray visited, CellList frontier, CellList next) {
+        int tasks = pool.getParallelism() * 4, slice = (frontier.size + tasks - 1) / tasks;
+
+        List<ForkJoinTask<CellList>> expansions = new ArrayList<>();
+        for (int from = 0; from < frontier.size; from += slice) {
+            int first = from, last = Math.min(frontier.size, from + slice);
+            expansions.add(pool.submit(() -> {
+                CellList expanded = new CellList();
+                expand(maze, visited, frontier, first, last, expanded);
+                return expanded;
+            }));
+        }
+        for (ForkJoinTask<CellList> expansion : expansions) {
+            next.addAll(expansion.join());
+        }
+    }
+
+    /**
+     * Adds the not yet visited accessible neighbours of the frontier cells {@code from} to {@code to} (excluded) to {@code next}
+     */
+    private void expand(Maze maze, AtomicLongArray visited, CellList frontier, int from, int to, CellList next) {
+        int width = maze.getMazeWidth();
+        for (int i = from; i < to; i++) {
+            long cell = frontier.cells[i];
+            int x = (int) (cell / width) + 1, y = (int) (cell % width) + 1;
+
+            if (maze.isAccessible(x - 1, y) && mark(visited, cell - width)) next.add(cell - width);
+            if (maze.isAccessible(x + 1, y) && mark(visited, cell + width)) next.add(cell + width);
+            if (maze.isAccessible(x, y - 1) && mark(visited, cell - 1)) next.add(cell - 1);
+            if (maze.isAccessible(x, y + 1) && mark(visited, cell + 1)) next.add(cell + 1);
+        }
+    }
+
+    private long countAccessibleBlocks(Maze maze) {
+        int height = maze.getMazeHeight();
+        if (pool == null || height < parallelRows * 2L) {
+            return countAccessibleBlocks(maze, 1, height);
+        }
+        int rowsPerTask = Math.max(parallelRows, height / (pool.getParallelism() * 4));
+
+        List<ForkJoinTask<Long>> counts = new ArrayList<>();
+        for (int x = 1; x <= height; x += rowsPerTask) {
+            int first = x, last = (int) Math.min(height, (long) x + rowsPerTask - 1);
+            counts.add(pool.submit(() -> countAccessibleBlocks(maze, first, last)));
+        }
+        long accessibleBlocks = 0;
+        for (ForkJoinTask<Long> count : counts) {
+            accessibleBlocks += count.join();
+        }
+        return accessibleBlocks;
+    }
+
+    private long countAccessibleBlocks(Maze maze, int firstRow, int lastRow) {
+        long accessibleBlocks = 0;
+        for (int x = firstRow; x <= lastRow; x++) {
+            for (int y = 1; y <= maze.getMazeWidth(); y++) {
+                if (maze.isAccessible(x, y)) {
+                    accessibleBlocks++;
+                }
+            }
+        }
+        return accessibleBlocks;
+    }
+
+    /**
+     * Marks the cell as visited
+     *
+     * @return True if the cell was not visited before
+     */
+    private static boolean mark(AtomicLongArray visited, long cell) {
+        int word = (int) (cell >>> 6);
+        long bit = 1L << cell;
+        for (long current = visited.get(word); (current & bit) == 0; current = visited.get(word)) {
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMarked(AtomicLongArray visited, long cell) {
+        return (visited.get((int) (cell >>> 6)) & 1L << cell) != 0;
+    }
+
+    /**
+     * Growable list of cell indexes
+     */
+    private static class CellList {
+        long[] cells = new long[16];
+        int size;
+
+        void add(long cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            cells[size++] = cell;
+        }
+
+        void addAll(CellList other) {
+            if (size + other.size > cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(cells.length * 2, size + other.size));
+            }
+            System.arraycopy(other.cells, 0, cells, size, other.size);
+            size += other.size;
+        }
+    }
+}
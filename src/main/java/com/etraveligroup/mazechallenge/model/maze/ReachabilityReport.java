@@ -0,0 +1,61 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+/**
+ * Result of a {@link ReachabilityAnalyzer} flood fill: which part of the maze the Actor can reach from the start point.
+ */
+public class ReachabilityReport {
+
+    private final long totalBlocks;
+
+    private final long accessibleBlocks;
+
+    private final long reachableBlocks;
+
+    private final boolean endReachable;
+
+    public ReachabilityReport(long totalBlocks, long accessibleBlocks, long reachableBlocks, boolean endReachable) {
+        this.totalBlocks = totalBlocks;
+        this.accessibleBlocks = accessibleBlocks;
+        this.reachableBlocks = reachableBlocks;
+        this.endReachable = endReachable;
+    }
+
+    /**
+     * @return All the blocks of the maze, walls included
+     */
+    public long getTotalBlocks() {
+        return totalBlocks;
+    }
+
+    /**
+     * @return The blocks that are not walls
+     */
+    public long getAccessibleBlocks() {
+        return accessibleBlocks;
+    }
+
+    /**
+     * @return The blocks reachable from the start point, start point included
+     */
+    public long getReachableBlocks() {
+        return reachableBlocks;
+    }
+
+    public boolean isEndReachable() {
+        return endReachable;
+    }
+
+    /**
+     * @return The fraction of accessible blocks the Actor can reach
+     */
+    public double getReachableFraction() {
+        return accessibleBlocks == 0 ? 0 : (double) reachableBlocks / accessibleBlocks;
+    }
+
+    @Override
+    public String toString() {
+        return reachableBlocks + " of " + accessibleBlocks + " accessible blocks reachable ("
+                + String.format("%.1f", getReachableFraction() * 100) + "%), "
+                + totalBlocks + " blocks in total, end point " + (endReachable ? "reachable" : "unreachable");
+    }
+}
@@ -0,0 +1,191 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeStreamWaitException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>A maze read from a text stream (a pipe, a socket) while it is being solved. The rows are loaded in the background and a
+ * solver may start as soon as the start point is loaded: the Actor only inspects the blocks next to him, and inspecting a block of
+ * a row not loaded yet waits for that row. Reading the stream overlaps with solving, instead of preceding it.</p>
+ *
+ * <p>The text format is the one of the maze files. Errors of the stream (an illegal character, rows of different widths) are
+ * thrown by {@link #awaitLoaded()}, and as an {@code IllegalStateException} to a solver waiting for a row. A solver may reach the
+ * end point before an error further down the stream is read: {@link #awaitLoaded()} tells whether the whole stream is valid.</p>
+ *
+ * <p>The size of the maze is only known once the stream is over: {@link #getMazeHeight()} and {@link #getMazeEnd()} wait for it
+ * (the end point as long as it is not loaded), solvers planning over the whole maze start only then.</p>
+ *
+ * <p>A solver run bounds its waits with {@link #limitWaits(long, BooleanSupplier)}: a stalled stream stops the run at its
+ * deadline or when it is cancelled, with a {@link MazeStreamWaitException}, instead of blocking it.</p>
+ *
+ * <pre>
+ *     StreamingMaze maze = StreamingMaze.load(generator.getInputStream());
+ *     SolveResult result = new MarkThePathMazeSolver(false).solve(maze);
+ * </pre>
+ */
+public class StreamingMaze extends Maze {
+
+    private final StreamingMazeGrid grid;
+
+    private volatile Block start;
+
+    private volatile Block end;
+
+    private StreamingMaze(StreamingMazeGrid grid) {
+        this.grid = grid;
+        attachGrid(grid);
+        setMazeWidth(grid.getWidth());
+    }
+
+    /**
+     * Starts loading the maze on a new daemon thread
+     *
+     * @param input The maze text, closed at its end
+     * @return The maze, as soon as its first row is loaded
+     * @throws MazeFileMalformedException If the stream ends or is malformed before its first row
+     * @throws IOException                If reading the first row failed
+     */
+    public static StreamingMaze load(InputStream input) throws MazeFileMalformedException, IOException, InterruptedException {
+        return load(Channels.newChannel(input), command -> {
+            Thread loader = new Thread(command, "maze-loader");
+            loader.setDaemon(true);
+            loader.start();
+        });
+    }
+
+    /**
+     * Starts loading the maze on the given executor
+     *
+     * @param channel  The maze text, closed at its end
+     * @param executor Runs the loading, a task reading up to the end of the stream
+     * @return The maze, as soon as its first row is loaded
+     * @throws MazeFileMalformedException If the stream ends or is malformed before its first row
+     * @throws IOException                If reading the first row failed
+     */
+    public static StreamingMaze load(ReadableByteChannel channel, Executor executor)
+            throws MazeFileMalformedException, IOException, InterruptedException {
+        StreamingMazeGrid grid = new StreamingMazeGrid(channel);
+        executor.execute(grid::load);
+        // The width is needed for the cell indexes
+        grid.await(() -> grid.getWidth() != 0);
+        StreamingMaze maze = new StreamingMaze(grid);
+        maze.setName("Maze :stream");
+        return maze;
+    }
+
+    /**
+     * Waits for the end of the stream
+     *
+     * @throws MazeFileMalformedException If the stream is not a valid maze
+     * @throws IOException                If reading the stream failed
+     */
+    public void awaitLoaded() throws MazeFileMalformedException, IOException, InterruptedException {
+        grid.await(() -> false);
+    }
+
+    /**
+     * <p>Limits the waits of the current thread for the stream until {@link #clearWaitLimits()}. A wait reaching the deadline or
+     * finding the waits cancelled throws a {@link MazeStreamWaitException} to the reader.</p>
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} the waits end at, {@link Long#MAX_VALUE} for none
+     * @param cancelled     Tells whether the waits are cancelled, checked at least every {@code 50} ms while waiting, may be null
+     */
+    public void limitWaits(long deadlineNanos, BooleanSupplier cancelled) {
+        grid.limitWaits(deadlineNanos, cancelled);
+    }
+
+    /**
+     * Removes the limits of the waits of the current thread
+     */
+    public void clearWaitLimits() {
+        grid.clearWaitLimits();
+    }
+
+    /**
+     * @return True if the whole stream is loaded and valid
+     */
+    public boolean isLoaded() {
+        return grid.isComplete();
+    }
+
+    /**
+     * Waits for the row of the given coordinates if it is not loaded yet
+     */
+    @Override
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 1 && y >= 1 && y <= getMazeWidth() && grid.awaitRow(x);
+    }
+
+    /**
+     * Waits for the end of the stream
+     */
+    @Override
+    public int getMazeHeight() {
+        return grid.getHeight();
+    }
+
+    /**
+     * Waits for the start point to be loaded
+     */
+    @Override
+    public Block getMazeStart() {
+        Block block = start;
+        if (block == null) {
+            grid.awaitUnchecked(grid::isStartFound);
+            if (!grid.isStartFound()) {
+                throw new IllegalStateException("Maze stream has no start point");
+            }
+            block = start = new Block(new Coordinates(grid.getStartX(), grid.getStartY()), BlockTypes.START);
+        }
+        return block;
+    }
+
+    /**
+     * Waits for the end point to be loaded
+     */
+    @Override
+    public Block getMazeEnd() {
+        Block block = end;
+        if (block == null) {
+            grid.awaitUnchecked(grid::isEndFound);
+            if (!grid.isEndFound()) {
+                throw new IllegalStateException("Maze stream has no end point");
+            }
+            block = end = new Block(new Coordinates(grid.getEndX(), grid.getEndY()), BlockTypes.END);
+        }
+        return block;
+    }
+
+    /**
+     * Never waits: the Actor stands on a loaded row, so the end point is known if he is on it
+     */
+    @Override
+    public boolean isMazeEnd(int x, int y) {
+        return grid.getEndX() == x && grid.getEndY() == y;
+    }
+
+    @Override
+    public void setGrid(MazeGrid grid) {
+        throw new UnsupportedOperationException("The grid of a streamed maze is loaded from its stream");
+    }
+
+    @Override
+    public void setMazeStart(Block mazeStart) {
+        throw new UnsupportedOperationException("The start point of a streamed maze is loaded from its stream");
+    }
+
+    @Override
+    public void setMazeEnd(Block mazeEnd) {
+        throw new UnsupportedOperationException("The end point of a streamed maze is loaded from its stream");
+    }
+}
@@ -0,0 +1,402 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.maze.throwable.EmptyMazeFileException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileIllegalCharacterException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeSizeOutOfBoundsException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeStreamWaitException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>{@link MazeGrid} filled row by row from a maze text stream by a loader thread, see {@link #load()}. Readers of a row not
+ * loaded yet wait for it, rows already loaded are read without any lock.</p>
+ *
+ * <p>Rows are stored in chunks of about 1 MB, a power of two rows each. The loader writes the cells of a row before publishing
+ * the new number of loaded rows, a volatile write, so a reader seeing the row count sees the cells too.</p>
+ *
+ * <p>The waits of a thread are unbounded unless the thread set {@link #limitWaits(long, BooleanSupplier) limits}: a solver run
+ * waits at most up to its deadline and as long as it is not cancelled.</p>
+ */
+class StreamingMazeGrid implements MazeGrid {
+
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * A cancellation is not signalled, a limited wait checks it at least this often
+     */
+    private static final long CANCELLATION_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final byte START = BlockTypes.START.getCode(), WALL = BlockTypes.WALL.getCode(),
+            EMPTY = BlockTypes.EMPTY.getCode(), END = BlockTypes.END.getCode();
+
+    private final ReadableByteChannel channel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when rows are loaded, when the start or end point is found and when the loading stops
+     */
+    private final Condition progress = lock.newCondition();
+
+    private volatile int width;
+
+    /**
+     * Chunk {@code (x - 1) >> rowShift} holds row {@code x}
+     */
+    private int rowShift;
+
+    private volatile byte[][] chunks = new byte[16][];
+
+    private volatile int loadedRows;
+
+    private volatile boolean complete;
+
+    private volatile Exception failure;
+
+    private volatile int startX, startY, endX, endY;
+
+    /**
+     * Rows parsed by the loader, published to the readers in {@link #publish()}
+     */
+    private int parsedRows;
+
+    /**
+     * The limits of the waits of every thread, none if absent
+     */
+    private final ThreadLocal<WaitLimits> waitLimits = new ThreadLocal<>();
+
+    StreamingMazeGrid(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Reads the stream up to its end, to be run by the loader thread. Errors are kept and thrown to the waiting readers.
+     */
+    void load() {
+        try (ReadableByteChannel input = channel) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] row = new byte[256];
+            int rowLength = 0, emptyLines = 0;
+            FileValidator validator = new FileValidator();
+
+            while (input.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b != '\n') {
+                        if (rowLength == row.length) {
+                            // A row longer than the first one (and its '\r') is rejected before it fills the memory
+                            if (width != 0 && rowLength > width) {
+                                throw widthMismatch(parsedRows + 1);
+                            } else if (row.length >= ArrayMazeGrid.MAX_CELLS / 2) {
+                                throw new MazeSizeOutOfBoundsException("Maze too large!");
+                            }
+                            row = Arrays.copyOf(row, row.length * 2);
+                        }
+                        row[rowLength++] = b;
+                        continue;
+                    }
+                    // A row is complete, empty lines are only allowed at the end of the stream
+                    int length = rowLength > 0 && row[rowLength - 1] == '\r' ? rowLength - 1 : rowLength;
+                    rowLength = 0;
+                    if (length == 0) {
+                        emptyLines++;
+                    } else {
+                        if (emptyLines > 0) {
+                            throw widthMismatch(parsedRows + 1);
+                        }
+                        addRow(row, length, validator);
+                    }
+                }
+                buffer.clear();
+                publish();
+            }
+            int length = rowLength > 0 && row[rowLength - 1] == '\r' ? rowLength - 1 : rowLength;
+            if (length > 0) {
+                if (emptyLines > 0) {
+                    throw widthMismatch(parsedRows + 1);
+                }
+                addRow(row, length, validator);
+            }
+
+            if (parsedRows == 0) {
+                throw new EmptyMazeFileException("Empty maze!");
+            } else if (!validator.startPointExist()) {
+                throw new MazeFileMalformedException("Maze should always have 1 start point");
+            } else if (!validator.endPointExist()) {
+                throw new MazeFileMalformedException("Maze should always have 1 end point");
+            }
+        } catch (MazeFileMalformedException | IOException | RuntimeException ex) {
+            failure = ex;
+        } catch (Error ex) {
+            failure = new IllegalStateException(ex);
+            throw ex;
+        } finally {
+            lock.lock();
+            try {
+                loadedRows = parsedRows;
+                complete = true;
+                progress.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Converts a row to block type codes and stores it
+     */
+    private void addRow(byte[] row, int length, FileValidator validator) throws MazeFileMalformedException {
+        int x = parsedRows + 1;
+        if (width == 0) {
+            // The first row gives the width of all the rows
+            width = length;
+            rowShift = 31 - Integer.numberOfLeadingZeros(Math.max(1, CHUNK_BYTES / length));
+        } else if (length != width) {
+            throw widthMismatch(x);
+        }
+        if (x == Maze.MAX_DIMENSION) {
+            throw new MazeSizeOutOfBoundsException("Maze too large!");
+        }
+
+        int chunkIndex = (x - 1) >>> rowShift, offset = ((x - 1) & ((1 << rowShift) - 1)) * width;
+        byte[][] currentChunks = chunks;
+        if (chunkIndex == currentChunks.length) {
+            currentChunks = chunks = Arrays.copyOf(currentChunks, currentChunks.length * 2);
+        }
+        byte[] chunk = currentChunks[chunkIndex];
+        if (chunk == null) {
+            chunk = currentChunks[chunkIndex] = new byte[(1 << rowShift) * width];
+        }
+
+        for (int i = 0; i < length; i++) {
+            byte b = row[i];
+            switch (b) {
+                case '_':
+                    chunk[offset + i] = EMPTY;
+                    break;
+                case 'X':
+                    chunk[offset + i] = WALL;
+                    break;
+                case 'S':
+                case 'G':
+                    if (!validator.validateNextCharacter((char) b)) {
+                        throw new MazeFileMalformedException("Maze should always have 1 " + (b == 'S' ? "start" : "end")
+                                + " point (another one at line " + x + ", column " + (i + 1) + ")");
+                    }
+                    if (b == 'S') {
+                        startY = i + 1;
+                        startX = x;
+                        chunk[offset + i] = START;
+                    } else {
+                        endY = i + 1;
+                        endX = x;
+                        chunk[offset + i] = END;
+                    }
+                    break;
+                default:
+                    throw new MazeFileIllegalCharacterException("Not acceptable character '" + (char) (b & 0xFF)
+                            + "' at line " + x + ", column " + (i + 1));
+            }
+        }
+        parsedRows = x;
+    }
+
+    /**
+     * Makes the parsed rows visible to the readers and wakes up the waiting ones
+     */
+    private void publish() {
+        if (parsedRows == loadedRows) {
+            return;
+        }
+        lock.lock();
+        try {
+            loadedRows = parsedRows;
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MazeFileMalformedException widthMismatch(int x) {
+        return new MazeFileMalformedException("Maze rows should all have the width of the first row (line " + x + ")");
+    }
+
+    /**
+     * Waits until the row is loaded or the stream is over
+     *
+     * @param x The row
+     * @return True if the row exists
+     * @throws IllegalStateException   If the stream failed or the thread was interrupted while waiting
+     * @throws MazeStreamWaitException If the wait reached the limits of the thread
+     */
+    boolean awaitRow(int x) {
+        if (x <= loadedRows) {
+            return true;
+        }
+        awaitUnchecked(() -> x <= loadedRows);
+        return x <= loadedRows;
+    }
+
+    /**
+     * Waits until the condition holds or the stream is over, a failure of the stream is thrown as an unchecked exception
+     */
+    void awaitUnchecked(BooleanSupplier condition) {
+        try {
+            await(condition);
+        } catch (MazeFileMalformedException | IOException ex) {
+            throw new IllegalStateException("Maze stream failed: " + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the maze stream", ex);
+        }
+    }
+
+    /**
+     * Limits the waits of the current thread until {@link #clearWaitLimits()}
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} the waits end at, {@link Long#MAX_VALUE} for none
+     * @param cancelled     Tells whether the waits are cancelled, checked on every wakeup, may be null
+     */
+    void limitWaits(long deadlineNanos, BooleanSupplier cancelled) {
+        waitLimits.set(new WaitLimits(deadlineNanos, cancelled));
+    }
+
+    void clearWaitLimits() {
+        waitLimits.remove();
+    }
+
+    /**
+     * Waits until the condition holds or the stream is over
+     *
+     * @throws MazeFileMalformedException If the stream is not a valid maze
+     * @throws IOException                If reading the stream failed
+     * @throws MazeStreamWaitException    If the wait reached the limits of the thread
+     */
+    void await(BooleanSupplier condition) throws MazeFileMalformedException, IOException, InterruptedException {
+        if (!condition.getAsBoolean() && !complete) {
+            WaitLimits limits = waitLimits.get();
+            lock.lock();
+            try {
+                while (!condition.getAsBoolean() && !complete) {
+                    if (limits == null) {
+                        progress.await();
+                    } else {
+                        limits.await(progress);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        Exception ex = failure;
+        if (ex instanceof MazeFileMalformedException) {
+            throw (MazeFileMalformedException) ex;
+        } else if (ex instanceof IOException) {
+            throw (IOException) ex;
+        } else if (ex != null) {
+            throw (RuntimeException) ex;
+        }
+    }
+
+    boolean isComplete() {
+        return complete && failure == null;
+    }
+
+    boolean isStartFound() {
+        return startX != 0;
+    }
+
+    boolean isEndFound() {
+        return endX != 0;
+    }
+
+    int getStartX() {
+        return startX;
+    }
+
+    int getStartY() {
+        return startY;
+    }
+
+    int getEndX() {
+        return endX;
+    }
+
+    int getEndY() {
+        return endY;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Waits for the whole stream
+     */
+    @Override
+    public int getHeight() {
+        awaitUnchecked(() -> false);
+        return loadedRows;
+    }
+
+    @Override
+    public byte getCell(int x, int y) {
+        if (x > loadedRows) {
+            awaitRow(x);
+        }
+        return chunks[(x - 1) >>> rowShift][((x - 1) & ((1 << rowShift) - 1)) * width + y - 1];
+    }
+
+    /**
+     * Changes a cell of a loaded row
+     */
+    @Override
+    public void setCell(int x, int y, byte code) {
+        if (!awaitRow(x)) {
+            throw new IllegalArgumentException("Row " + x + " is out of the maze");
+        }
+        chunks[(x - 1) >>> rowShift][((x - 1) & ((1 << rowShift) - 1)) * width + y - 1] = code;
+    }
+
+    /**
+     * The deadline and the cancellation of the waits of a thread
+     */
+    private static class WaitLimits {
+
+        private final long deadlineNanos;
+
+        private final BooleanSupplier cancelled;
+
+        private WaitLimits(long deadlineNanos, BooleanSupplier cancelled) {
+            this.deadlineNanos = deadlineNanos;
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Waits for the next signal, up to the deadline and at most until the next cancellation check
+         */
+        private void await(Condition progress) throws InterruptedException {
+            if (cancelled != null && cancelled.getAsBoolean()) {
+                throw new MazeStreamWaitException("Wait for the maze stream cancelled", true);
+            }
+            long remaining = deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                throw new MazeStreamWaitException("Deadline exceeded while waiting for the maze stream", false);
+            }
+            progress.awaitNanos(cancelled != null ? Math.min(remaining, CANCELLATION_CHECK_NANOS) : remaining);
+        }
+    }
+}
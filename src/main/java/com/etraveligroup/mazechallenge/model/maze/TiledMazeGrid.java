@@ -0,0 +1,296 @@
+package com.etraveligroup.mazechallenge.model.maze;
+
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>{@link MazeGrid} for mazes larger than the memory. The grid is split in square tiles of {@code tileSize x tileSize} cells,
+ * stored in a backing file, and only a bounded number of tiles is kept in memory (tiles not used since the last sweep of the
+ * cache are evicted and written back when modified).</p>
+ *
+ * <p>Solvers only inspect the neighbours of the Actor's position, so consecutive lookups almost always hit the same tile:
+ * the last used tile is checked before the cache.</p>
+ *
+ * <p>Reading a cell of a tile in memory takes no lock. Only loading and evicting tiles is synchronized, and writes lock the
+ * tile they modify so that they are not lost by a concurrent eviction. Tiles never written read as walls.</p>
+ *
+ * <p>The grid holds the backing file open for as long as tiles may be loaded: whoever creates the grid, or builds a maze
+ * with {@link #factory}, owns it and calls {@link #close()} when the maze is no longer used. {@link #close()} writes the
+ * modified tiles back and closes the backing file, the maze must not be read afterwards.</p>
+ */
+public class TiledMazeGrid implements MazeGrid, Closeable {
+
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    public static final int DEFAULT_CACHED_TILES = 1024;
+
+    private static final byte WALL = BlockTypes.WALL.getCode();
+
+    private final int width;
+
+    private final int height;
+
+    private final int tileShift;
+
+    private final int tileMask;
+
+    private final int tileBytes;
+
+    private final long tilesPerRow;
+
+    private final int maxCachedTiles;
+
+    private final FileChannel channel;
+
+    /**
+     * Tiles ever written to the backing file
+     */
+    private final BitSet storedTiles = new BitSet();
+
+    /**
+     * Tiles in memory, read without lock. Only modified while holding the lock of the grid
+     */
+    private final Map<Long, Tile> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Tiles in memory in the order swept for eviction, guarded by the lock of the grid
+     */
+    private final Tile[] clock;
+
+    private int clockHand;
+
+    private volatile Tile lastTile;
+
+    /**
+     * Tile of the grid, {@code tileSize x tileSize} cells row by row. The cells of an evicted tile are never reused, so a
+     * reader still holding the tile reads the cells as they were written back.
+     */
+    private static class Tile {
+        final long id;
+        final byte[] cells;
+        boolean dirty;
+        /**
+         * Used since the last sweep of the clock, set without lock
+         */
+        boolean used = true;
+        volatile boolean evicted;
+
+        Tile(long id, byte[] cells) {
+            this.id = id;
+            this.cells = cells;
+        }
+    }
+
+    /**
+     * @param backingFile    The file storing the tiles, created or truncated
+     * @param width          The width of the maze
+     * @param height         The height of the maze
+     * @param tileSize       The side of the square tiles, a power of two
+     * @param maxCachedTiles The number of tiles kept in memory
+     */
+    public TiledMazeGrid(Path backingFile, int width, int height, int tileSize, int maxCachedTiles) throws IOException {
+        if (tileSize <= 0 || Integer.bitCount(tileSize) != 1 || (long) tileSize * tileSize > ArrayMazeGrid.MAX_CELLS) {
+            throw new IllegalArgumentException("Tile size must be a power of two: " + tileSize);
+        } else if (maxCachedTiles < 1) {
+            throw new IllegalArgumentException("At least one tile must be cached");
+        }
+        this.width = width;
+        this.height = height;
+        this.tileShift = Integer.numberOfTrailingZeros(tileSize);
+        this.tileMask = tileSize - 1;
+        this.tileBytes = tileSize * tileSize;
+        this.tilesPerRow = ((long) width + tileMask) >>> tileShift;
+
+        long tileRows = ((long) height + tileMask) >>> tileShift;
+        if (tilesPerRow * tileRows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many tiles, use larger tiles");
+        }
+        this.channel = FileChannel.open(backingFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.maxCachedTiles = maxCachedTiles;
+        this.clock = new Tile[maxCachedTiles];
+    }
+
+    /**
+     * Returns a factory of tiled grids stored in the given file
+     */
+    public static MazeGridFactory factory(Path backingFile, int tileSize, int maxCachedTiles) {
+        return (width, height) -> new TiledMazeGrid(backingFile, width, height, tileSize, maxCachedTiles);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public byte getCell(int x, int y) {
+        return tile(x - 1, y - 1).cells[offset(x - 1, y - 1)];
+    }
+
+    @Override
+    public void setCell(int x, int y, byte code) {
+        int row = x - 1, column = y - 1;
+        while (true) {
+            Tile tile = tile(row, column);
+            synchronized (tile) {
+                // An evicted tile is loaded again with its written back cells
+                if (!tile.evicted) {
+                    tile.cells[offset(row, column)] = code;
+                    tile.dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setRow(int x, byte[] codes, int offset) {
+        int row = x - 1, tileSize = tileMask + 1;
+        // Copy the row tile by tile
+        for (int column = 0; column < width; ) {
+            Tile tile = tile(row, column);
+            synchronized (tile) {
+                if (tile.evicted) {
+                    continue;
+                }
+                int length = Math.min(tileSize - (column & tileMask), width - column);
+                System.arraycopy(codes, offset + column, tile.cells, offset(row, column), length);
+                tile.dirty = true;
+                column += length;
+            }
+        }
+    }
+
+    /**
+     * @return The number of tiles currently in memory
+     */
+    public int getCachedTiles() {
+        return cache.size();
+    }
+
+    /**
+     * Writes all the modified tiles to the backing file
+     */
+    public synchronized void flush() throws IOException {
+        for (Tile tile : cache.values()) {
+            synchronized (tile) {
+                writeBack(tile);
+            }
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for (Tile tile : cache.values()) {
+            tile.evicted = true;
+        }
+        cache.clear();
+        Arrays.fill(clock, null);
+        lastTile = null;
+        channel.close();
+    }
+
+    private int offset(int row, int column) {
+        return (row & tileMask) << tileShift | (column & tileMask);
+    }
+
+    private Tile tile(int row, int column) {
+        long id = (row >>> tileShift) * tilesPerRow + (column >>> tileShift);
+        Tile tile = lastTile;
+        if (tile != null && tile.id == id && !tile.evicted) {
+            return tile;
+        }
+        tile = cache.get(id);
+        if (tile == null) {
+            tile = load(id);
+        }
+        tile.used = true;
+        return lastTile = tile;
+    }
+
+    /**
+     * Loads a tile in memory, evicting a tile not used since the last sweep of the clock when the cache is full
+     */
+    private synchronized Tile load(long id) {
+        // Loaded by another thread meanwhile
+        Tile loaded = cache.get(id);
+        if (loaded != null) {
+            return loaded;
+        }
+        try {
+            if (cache.size() >= maxCachedTiles) {
+                evict();
+            }
+
+            byte[] cells = new byte[tileBytes];
+            if (storedTiles.get((int) id)) {
+                ByteBuffer buffer = ByteBuffer.wrap(cells);
+                long position = id * tileBytes;
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Tile " + id + " truncated in backing file");
+                    }
+                }
+            } else {
+                Arrays.fill(cells, WALL);
+            }
+            Tile tile = new Tile(id, cells);
+            clock[clockHand] = tile;
+            clockHand = (clockHand + 1) % clock.length;
+            cache.put(id, tile);
+            return tile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Evicts the tile under the hand of the clock, sparing the tiles used since the last sweep once. The hand is left on
+     * the free slot.
+     */
+    private void evict() throws IOException {
+        Tile tile;
+        while ((tile = clock[clockHand]).used) {
+            tile.used = false;
+            clockHand = (clockHand + 1) % clock.length;
+        }
+        synchronized (tile) {
+            writeBack(tile);
+            tile.evicted = true;
+        }
+        cache.remove(tile.id);
+        clock[clockHand] = null;
+    }
+
+    private void writeBack(Tile tile) throws IOException {
+        if (!tile.dirty) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(tile.cells);
+        long position = tile.id * tileBytes;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        storedTiles.set((int) tile.id);
+        tile.dirty = false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.etraveligroup.mazechallenge.model.maze.throwable;
+
+/**
+ * Thrown to a reader of a streamed maze whose wait for the stream reached the deadline of the reader or was cancelled
+ */
+public class MazeStreamWaitException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean cancelled;
+
+    public MazeStreamWaitException(String message, boolean cancelled) {
+        super(message);
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return True if the wait was cancelled, false if it reached its deadline
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,10 @@
+package com.etraveligroup.mazechallenge.model.maze.throwable;
+
+public class MazeUnsolvableException extends MazeFileMalformedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MazeUnsolvableException(String message) {
+        super(message);
+    }
+}
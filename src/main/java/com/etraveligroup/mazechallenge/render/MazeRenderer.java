@@ -0,0 +1,247 @@
+package com.etraveligroup.mazechallenge.render;
+
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.BlockTypes;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeGrid;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.solver.visit.HashVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Draws a maze row by row, one character or one square of pixels per cell, optionally overlaid with an Actor's path and with
+ * the visits per block (a heatmap). The output is written as it is drawn: without a path the memory used does not depend on the
+ * size of the maze. The path overlay marks the blocks of the path in a bitset of a bit per cell, {@code width * height / 8}
+ * bytes (128 MB for a billion cells).</p>
+ *
+ * <p>The text is the maze file format ({@code S G X _}, a line per row), so a maze without overlays is rendered as a file
+ * {@code MazeBuilder} reads back. Blocks of the path are drawn as {@code *}, visited blocks with the number of visits
+ * ({@code 1} to {@code 9}, {@code +} for more). Visits are drawn over the path, the start and end points are always shown.</p>
+ *
+ * <pre>
+ *     MazeRenderer renderer = new MazeRenderer(maze);
+ *     renderer.setPath(result.getCompactPath());
+ *     renderer.render(writer);
+ * </pre>
+ */
+public class MazeRenderer {
+
+    static final char PATH_CHARACTER = '*';
+
+    /**
+     * Symbols of the cells, indexes of the characters and of the palette. The blocks are drawn with their code
+     */
+    static final byte START = BlockTypes.START.getCode(), WALL = BlockTypes.WALL.getCode(), EMPTY = BlockTypes.EMPTY.getCode(),
+            END = BlockTypes.END.getCode(), PATH = 4, HEAT = 5;
+
+    static final int HEAT_LEVELS = 9;
+
+    private static final char[] CHARACTERS = new char[HEAT + HEAT_LEVELS + 1];
+
+    /**
+     * Colors of the symbols, the heat goes from light yellow to dark red
+     */
+    private static final int[] PALETTE = new int[HEAT + HEAT_LEVELS + 1];
+
+    static {
+        CHARACTERS[START] = 'S';
+        CHARACTERS[WALL] = 'X';
+        CHARACTERS[EMPTY] = '_';
+        CHARACTERS[END] = 'G';
+        CHARACTERS[PATH] = PATH_CHARACTER;
+        for (int level = 0; level < HEAT_LEVELS; level++) {
+            CHARACTERS[HEAT + level] = (char) ('1' + level);
+        }
+        CHARACTERS[HEAT + HEAT_LEVELS] = '+';
+
+        PALETTE[START] = 0x00A000;
+        PALETTE[WALL] = 0x202020;
+        PALETTE[EMPTY] = 0xFFFFFF;
+        PALETTE[END] = 0xC000C0;
+        PALETTE[PATH] = 0x3060FF;
+        for (int level = 0; level <= HEAT_LEVELS; level++) {
+            int red = 255 - 95 * level / HEAT_LEVELS, green = 230 - 230 * level / HEAT_LEVELS, blue = 120 - 120 * level / HEAT_LEVELS;
+            PALETTE[HEAT + level] = red << 16 | green << 8 | blue;
+        }
+    }
+
+    /**
+     * Cells drawn per segment of a row
+     */
+    private static final int SEGMENT = 1 << 13;
+
+    private final Maze maze;
+
+    private CompactPath path;
+
+    private VisitCounter visits;
+
+    public MazeRenderer(Maze maze) {
+        this.maze = maze;
+    }
+
+    /**
+     * @param path The path drawn over the maze, or null for none
+     */
+    public void setPath(CompactPath path) {
+        this.path = path;
+    }
+
+    /**
+     * @param visits The visits per block drawn over the maze, or null for none
+     */
+    public void setVisits(VisitCounter visits) {
+        this.visits = visits;
+    }
+
+    /**
+     * Counts the visits per block of a path, for a heatmap of the run: a block is visited every time the path passes it
+     *
+     * @param maze The maze of the path
+     * @param path The Actor's path
+     * @return The visits of the blocks of the path
+     */
+    public static VisitCounter visitsOf(Maze maze, CompactPath path) {
+        VisitCounter visits = new HashVisitCounter();
+        int x = path.getStartX(), y = path.getStartY();
+        visits.increment(maze.getCellIndex(x, y));
+        for (long i = 0; i < path.getMoveCount(); i++) {
+            Directions direction = path.getMove(i);
+            x += direction.getDx();
+            y += direction.getDy();
+            visits.increment(maze.getCellIndex(x, y));
+        }
+        return visits;
+    }
+
+    /**
+     * @return A bit per cell of the maze, set for the blocks of the path
+     */
+    private static long[] blocksOf(Maze maze, CompactPath path) {
+        long cells = (long) maze.getMazeWidth() * maze.getMazeHeight();
+        if (cells > (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("Maze too large to draw a path over: " + cells + " cells");
+        }
+        long[] blocks = new long[(int) ((cells + 63) >>> 6)];
+        int x = path.getStartX(), y = path.getStartY();
+        long cell = maze.getCellIndex(x, y);
+        blocks[(int) (cell >>> 6)] |= 1L << cell;
+        for (long i = 0; i < path.getMoveCount(); i++) {
+            Directions direction = path.getMove(i);
+            x += direction.getDx();
+            y += direction.getDy();
+            cell = maze.getCellIndex(x, y);
+            blocks[(int) (cell >>> 6)] |= 1L << cell;
+        }
+        return blocks;
+    }
+
+    /**
+     * Writes the maze as text, a line per row
+     */
+    public void render(Writer output) throws IOException {
+        Rows rows = new Rows();
+        byte[] symbols = new byte[SEGMENT];
+        char[] characters = new char[SEGMENT];
+        for (int x = 1; x <= rows.height; x++) {
+            for (int drawn = 0, count; drawn < rows.width; drawn += count) {
+                count = Math.min(SEGMENT, rows.width - drawn);
+                rows.read(x, drawn + 1, symbols, count);
+                for (int i = 0; i < count; i++) {
+                    characters[i] = CHARACTERS[symbols[i]];
+                }
+                output.write(characters, 0, count);
+            }
+            output.write('\n');
+        }
+    }
+
+    /**
+     * Writes the maze as ASCII text, a line per row. The output stream is flushed, not closed.
+     */
+    public void render(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII), SEGMENT);
+        render(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the maze as a PNG image, a square of pixels per cell. The output stream is flushed, not closed.
+     *
+     * @param output   Receives the image
+     * @param cellSize The side of the square of a cell in pixels
+     */
+    public void renderPng(OutputStream output, int cellSize) throws IOException {
+        if (cellSize < 1 || (long) maze.getMazeWidth() * cellSize > Integer.MAX_VALUE
+                || (long) maze.getMazeHeight() * cellSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze of " + maze.getMazeWidth() + "x" + maze.getMazeHeight()
+                    + " cells does not fit a PNG image with cells of " + cellSize + " pixels");
+        }
+        Rows rows = new Rows();
+        PngEncoder png = new PngEncoder(output, rows.width * cellSize, rows.height * cellSize, PALETTE);
+        byte[] symbols = new byte[SEGMENT];
+        byte[] pixels = new byte[Math.min(SEGMENT, rows.width) * cellSize];
+        for (int x = 1; x <= rows.height; x++) {
+            for (int repeat = 0; repeat < cellSize; repeat++) {
+                // Every line of pixels of the row draws the row again
+                png.startRow();
+                for (int drawn = 0, count; drawn < rows.width; drawn += count) {
+                    count = Math.min(SEGMENT, rows.width - drawn);
+                    rows.read(x, drawn + 1, symbols, count);
+                    for (int i = 0; i < count; i++) {
+                        Arrays.fill(pixels, i * cellSize, (i + 1) * cellSize, symbols[i]);
+                    }
+                    png.write(pixels, 0, count * cellSize);
+                }
+            }
+        }
+        png.finish();
+    }
+
+    /**
+     * Reads the symbols of the cells with the overlays
+     */
+    private class Rows {
+
+        private final int width = maze.getMazeWidth();
+
+        private final int height = maze.getMazeHeight();
+
+        private final MazeGrid grid = maze.getGrid();
+
+        /**
+         * The blocks of the path, a bit per cell of the maze set however often the path passes the block
+         */
+        private final long[] pathBlocks = path != null ? blocksOf(maze, path) : null;
+
+        /**
+         * Reads the symbols of {@code count} cells of row {@code x} from column {@code y}
+         */
+        void read(int x, int y, byte[] symbols, int count) {
+            long cell = maze.getCellIndex(x, y);
+            for (int i = 0; i < count; i++, cell++) {
+                byte symbol = grid.getCell(x, y + i);
+                if (symbol == START || symbol == END || symbol == WALL) {
+                    symbols[i] = symbol;
+                    continue;
+                }
+                int visitCount = visits != null ? visits.get(cell) : 0;
+                if (visitCount > 0) {
+                    symbols[i] = (byte) (HEAT + Math.min(visitCount, HEAT_LEVELS + 1) - 1);
+                } else if (pathBlocks != null && (pathBlocks[(int) (cell >>> 6)] & 1L << cell) != 0) {
+                    symbols[i] = PATH;
+                } else {
+                    symbols[i] = symbol;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.etraveligroup.mazechallenge.render;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>Writes an 8 bit palette PNG image row by row. The rows are deflated as they are written and the compressed data is emitted
+ * in {@code IDAT} chunks of at most {@link #CHUNK_SIZE} bytes, so the memory used does not depend on the size of the image.</p>
+ *
+ * <p>A row is written in segments with {@link #write(byte[], int, int)}, starting with {@link #startRow()}. The image is complete
+ * after {@link #finish()}, the output stream is not closed.</p>
+ */
+class PngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    static final int CHUNK_SIZE = 1 << 15;
+
+    private static final int PALETTE_COLOR_TYPE = 3;
+
+    private final DataOutputStream output;
+
+    private final long width;
+
+    private final int height;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private final ChunkOutputStream chunks = new ChunkOutputStream();
+
+    private final DeflaterOutputStream pixels;
+
+    private int rows;
+
+    private long rowPixels;
+
+    /**
+     * @param output  Receives the image
+     * @param width   The width of the image in pixels
+     * @param height  The height of the image in pixels
+     * @param palette The colors of the palette indexes, {@code 0xRRGGBB}, 256 at most
+     */
+    PngEncoder(OutputStream output, int width, int height, int[] palette) throws IOException {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Empty image: " + width + "x" + height);
+        } else if (palette.length < 1 || palette.length > 256) {
+            throw new IllegalArgumentException("Palette of " + palette.length + " colors");
+        }
+        this.output = new DataOutputStream(output);
+        this.width = width;
+        this.height = height;
+        this.pixels = new DeflaterOutputStream(chunks, deflater, CHUNK_SIZE);
+
+        this.output.write(SIGNATURE);
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = 8;
+        header[9] = PALETTE_COLOR_TYPE;
+        // Deflate compression, adaptive filtering and no interlace are the only methods
+        writeChunk("IHDR", header, header.length);
+
+        byte[] colors = new byte[palette.length * 3];
+        for (int i = 0; i < palette.length; i++) {
+            colors[i * 3] = (byte) (palette[i] >>> 16);
+            colors[i * 3 + 1] = (byte) (palette[i] >>> 8);
+            colors[i * 3 + 2] = (byte) palette[i];
+        }
+        writeChunk("PLTE", colors, colors.length);
+    }
+
+    /**
+     * Starts the next row, the previous one must be complete
+     */
+    void startRow() throws IOException {
+        if (rows > 0 && rowPixels != width) {
+            throw new IllegalStateException("Row " + rows + " has " + rowPixels + " pixels instead of " + width);
+        } else if (rows == height) {
+            throw new IllegalStateException("Image has " + height + " rows");
+        }
+        rows++;
+        rowPixels = 0;
+        // Filter type 'None'
+        pixels.write(0);
+    }
+
+    /**
+     * Writes the palette indexes of the next pixels of the current row
+     */
+    void write(byte[] indexes, int offset, int length) throws IOException {
+        if (rowPixels + length > width) {
+            throw new IllegalStateException("Row " + rows + " longer than " + width + " pixels");
+        }
+        pixels.write(indexes, offset, length);
+        rowPixels += length;
+    }
+
+    /**
+     * Writes the remaining compressed data and the end of the image
+     */
+    void finish() throws IOException {
+        if (rows != height || rowPixels != width) {
+            throw new IllegalStateException("Image incomplete: " + rows + " of " + height + " rows");
+        }
+        pixels.finish();
+        deflater.end();
+        chunks.flushChunk();
+        writeChunk("IEND", new byte[0], 0);
+        output.flush();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+
+        output.writeInt(length);
+        output.write(typeBytes);
+        output.write(data, 0, length);
+        output.writeInt((int) crc.getValue());
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Collects the compressed data into {@code IDAT} chunks
+     */
+    private class ChunkOutputStream extends OutputStream {
+
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+
+        private int length;
+
+        @Override
+        public void write(int b) throws IOException {
+            chunk[length++] = (byte) b;
+            if (length == chunk.length) {
+                flushChunk();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) throws IOException {
+            while (count > 0) {
+                int copied = Math.min(count, chunk.length - length);
+                System.arraycopy(bytes, offset, chunk, length, copied);
+                length += copied;
+                offset += copied;
+                count -= copied;
+                if (length == chunk.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (length > 0) {
+                writeChunk("IDAT", chunk, length);
+                length = 0;
+            }
+        }
+    }
+}
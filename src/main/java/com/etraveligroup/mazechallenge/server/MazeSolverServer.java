@@ -0,0 +1,446 @@
+package com.etraveligroup.mazechallenge.server;
+
+import com.etraveligroup.mazechallenge.cache.ContentHash;
+import com.etraveligroup.mazechallenge.cache.SolutionCache;
+import com.etraveligroup.mazechallenge.model.maze.BinaryMazeFormat;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Solves mazes sent over HTTP, so that many jobs share one long-lived, warmed-up process instead of starting a JVM per maze.
+ * Mazes are posted to {@code /solve}: one or more text mazes separated by blank lines, solved in order as a batch, or one binary
+ * maze (see {@link BinaryMazeFormat}). Optional query parameters: {@code solver} (a name of the solvers of the server, the first
+ * one by default), {@code maxSteps}, {@code timeoutMillis} and {@code seed}, see {@link SolveOptions}. Every run is bounded:
+ * a request without a step budget or a timeout gets the defaults of the server, larger values are lowered to the maximums of the
+ * server (see {@link #setStepLimits(long, long)} and {@link #setTimeoutLimits(Duration, Duration)}). The mazes are checked for a
+ * path from the start point to the end point before they are solved, an unsolvable maze is answered as an error.</p>
+ *
+ * <p>Requests are solved on a fixed pool of workers with a bounded queue. When the queue is full a request is answered at once
+ * with {@code 503} and a {@code Retry-After} header, before its body is read: the clients back off and the pending mazes stay in
+ * their sockets instead of the memory of the server.</p>
+ *
+ * <p>The response is streamed in chunks, the run of every maze is sent as soon as it is over. It has a line per maze, in the
+ * order of the body, with the compact path of the run (start point and a letter per move, {@code N S W E}):</p>
+ * <pre>
+ *     SOLVED    steps    x,y    moves
+ *     ERROR     message
+ * </pre>
+ * <p>With {@code Accept: application/octet-stream} the response is binary: the number of mazes, then per maze the status (or
+ * {@code ERROR}) as a {@code DataOutput} UTF string followed by the path as written by {@link CompactPath#writeTo} (or the error
+ * message).</p>
+ *
+ * <pre>
+ *     curl --data-binary @maze.txt "http://localhost:7070/solve?timeoutMillis=2000"
+ * </pre>
+ */
+public class MazeSolverServer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(MazeSolverServer.class);
+
+    static final String BINARY_TYPE = "application/octet-stream";
+
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+    private final HttpServer server;
+
+    private final Map<String, MazeSolver> solvers;
+
+    private final MazeSolver defaultSolver;
+
+    private final ThreadPoolExecutor workers;
+
+    private long maxBodyBytes = 64L << 20;
+
+    private long defaultMaxSteps = 1L << 30;
+
+    private long maxMaxSteps = 1L << 34;
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    private Duration maxTimeout = Duration.ofMinutes(1);
+
+    private SolutionCache cache;
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param address       The address to listen to, usually a loopback address. Port 0 picks a free port, see {@link #getPort()}
+     * @param solvers       The solvers by name, the first one is the default. Shared by all the workers
+     * @param workers       The number of requests solved at the same time
+     * @param queueCapacity The number of requests waiting for a worker at most, further requests are rejected with 503
+     */
+    public MazeSolverServer(InetSocketAddress address, Map<String, MazeSolver> solvers, int workers, int queueCapacity)
+            throws IOException {
+        if (solvers.isEmpty()) {
+            throw new IllegalArgumentException("At least one solver is needed");
+        } else if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Workers and queue capacity must be positive: " + workers + ", " + queueCapacity);
+        }
+        this.solvers = new LinkedHashMap<>(solvers);
+        this.defaultSolver = this.solvers.values().iterator().next();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "maze-solver-" + threads.incrementAndGet()));
+
+        this.server = HttpServer.create(address, 0);
+        // The dispatcher thread only hands the requests over to the workers, it never reads a body
+        server.setExecutor(null);
+        server.createContext("/solve", this::dispatch);
+    }
+
+    /**
+     * @param maxBodyBytes The size of a request body at most, larger bodies are rejected with 413
+     */
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * @param defaultMaxSteps The step budget of a run when the request has none, {@code 2^30} by default
+     * @param maxSteps        The step budget of a run at most, a larger budget of a request is lowered to it, {@code 2^34} by default
+     */
+    public void setStepLimits(long defaultMaxSteps, long maxSteps) {
+        if (defaultMaxSteps < 0 || defaultMaxSteps > maxSteps) {
+            throw new IllegalArgumentException("Illegal step limits: " + defaultMaxSteps + ", " + maxSteps);
+        }
+        this.defaultMaxSteps = defaultMaxSteps;
+        this.maxMaxSteps = maxSteps;
+    }
+
+    /**
+     * @param defaultTimeout The timeout of a run when the request has none, 10 seconds by default
+     * @param maxTimeout     The timeout of a run at most, a longer timeout of a request is lowered to it, 1 minute by default
+     */
+    public void setTimeoutLimits(Duration defaultTimeout, Duration maxTimeout) {
+        if (defaultTimeout.isNegative() || defaultTimeout.compareTo(maxTimeout) > 0) {
+            throw new IllegalArgumentException("Illegal timeout limits: " + defaultTimeout + ", " + maxTimeout);
+        }
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * @param cache The cache of the solved paths, or null to solve every maze
+     */
+    public void setCache(SolutionCache cache) {
+        this.cache = cache;
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Maze solver server listening on " + server.getAddress());
+    }
+
+    /**
+     * @return The port the server listens to
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return The number of requests rejected because the queue was full
+     */
+    public long getRejectedRequests() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stops accepting requests and waits for the requests in progress and in the queue, at most for the maximum timeout of a
+     * run. If interrupted while waiting the workers are interrupted and the interrupt status of the thread is restored.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(maxTimeout.getSeconds() + 1, TimeUnit.SECONDS)) {
+                logger.warn("Requests still running after the maximum timeout, interrupting the workers");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            workers.execute(() -> handle(exchange));
+        } catch (RejectedExecutionException ex) {
+            // Queue full or shutting down, the body is left unread
+            rejected.increment();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, 503, "Server busy, retry later");
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        boolean started = false;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Mazes are solved with POST");
+                return;
+            }
+            Map<String, String> parameters;
+            SolveOptions options;
+            try {
+                parameters = parameters(exchange.getRequestURI().getRawQuery());
+                options = options(parameters);
+            } catch (IllegalArgumentException ex) {
+                respond(exchange, 400, "Illegal parameter: " + ex.getMessage());
+                return;
+            }
+            MazeSolver solver = parameters.containsKey("solver") ? solvers.get(parameters.get("solver")) : defaultSolver;
+            if (solver == null) {
+                respond(exchange, 400, "Unknown solver " + parameters.get("solver") + ", one of " + solvers.keySet());
+                return;
+            }
+
+            long contentLength;
+            try {
+                contentLength = contentLength(exchange.getRequestHeaders().getFirst("Content-Length"));
+            } catch (IllegalArgumentException ex) {
+                respond(exchange, 400, "Illegal Content-Length: " + ex.getMessage());
+                return;
+            }
+            byte[] body = contentLength > maxBodyBytes ? null : readBody(exchange.getRequestBody());
+            if (body == null) {
+                respond(exchange, 413, "Request body larger than " + maxBodyBytes + " bytes");
+                return;
+            }
+            List<ByteBuffer> mazes = splitMazes(body);
+            boolean binary = BINARY_TYPE.equals(exchange.getRequestHeaders().getFirst("Accept"));
+
+            // The response is streamed in chunks, every run is sent as soon as it is over instead of held in memory
+            exchange.getResponseHeaders().set("Content-Type", binary ? BINARY_TYPE : TEXT_TYPE);
+            exchange.sendResponseHeaders(200, 0);
+            started = true;
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(exchange.getResponseBody()))) {
+                if (binary) {
+                    output.writeInt(mazes.size());
+                }
+                for (int i = 0; i < mazes.size(); i++) {
+                    writeRun(output, binary, exchange.getRequestURI().getPath() + "#" + (i + 1), mazes.get(i), solver, options);
+                    output.flush();
+                }
+            }
+        } catch (IOException ex) {
+            // The client went away
+            logger.warn("Failed to answer " + exchange.getRemoteAddress() + ": " + ex);
+        } catch (RuntimeException ex) {
+            logger.error("Failed to solve a request of " + exchange.getRemoteAddress(), ex);
+            if (!started) {
+                try {
+                    respond(exchange, 500, String.valueOf(ex));
+                } catch (IOException ignored) {
+                    // Client gone
+                }
+            }
+            // Otherwise the response is cut short when the exchange is closed
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Solves a maze of the body, or answers it from the cache, and writes its line (or binary record) of the response
+     */
+    private void writeRun(DataOutputStream output, boolean binary, String name, ByteBuffer content, MazeSolver solver,
+                          SolveOptions options) throws IOException {
+        SolveResult result;
+        try {
+            long startNanos = System.nanoTime();
+            SolutionCache.Key key = cache != null ? SolutionCache.key(ContentHash.of(content), solver, options) : null;
+            result = cache != null ? cache.lookup(key, options, startNanos) : null;
+            if (result == null) {
+                MazeBuilder builder = new MazeBuilder(name);
+                // An unsolvable maze is answered at once instead of running up to the limits
+                builder.setReachabilityCheck(true);
+                Maze maze = builder.builtMaze(content);
+                result = solver.solve(maze, options);
+                if (cache != null) {
+                    cache.put(key, result);
+                }
+            }
+        } catch (Exception ex) {
+            // A broken maze does not fail the other mazes of the batch
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.toString();
+            if (binary) {
+                output.writeUTF("ERROR");
+                output.writeUTF(message);
+            } else {
+                output.write(("ERROR\t" + message.replace('\n', ' ') + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return;
+        }
+
+        CompactPath path = result.getCompactPath();
+        if (binary) {
+            output.writeUTF(result.getStatus().name());
+            (path != null ? path : new CompactPath()).writeTo(output);
+            return;
+        }
+        output.writeBytes(result.getStatus() + "\t" + result.getSteps());
+        if (path != null) {
+            output.writeBytes("\t" + path.getStartX() + "," + path.getStartY() + "\t");
+            // Written move by move, the line of a long path is never held in memory
+            for (long i = 0; i < path.getMoveCount(); i++) {
+                output.write(path.getMove(i).name().charAt(0));
+            }
+        }
+        output.write('\n');
+    }
+
+    /**
+     * @return The whole body, null if larger than {@link #maxBodyBytes}
+     */
+    private byte[] readBody(InputStream input) throws IOException {
+        byte[] body = new byte[8192];
+        int length = 0, read;
+        while ((read = input.read(body, length, body.length - length)) >= 0) {
+            length += read;
+            if (length > maxBodyBytes) {
+                return null;
+            }
+            if (length == body.length) {
+                if (body.length >= Integer.MAX_VALUE / 2) {
+                    return null;
+                }
+                body = Arrays.copyOf(body, body.length * 2);
+            }
+        }
+        return Arrays.copyOf(body, length);
+    }
+
+    /**
+     * <p>Splits a body of text mazes separated by blank lines. A binary maze is never split.</p>
+     *
+     * @return The content of every maze, in the order of the body
+     */
+    static List<ByteBuffer> splitMazes(byte[] body) {
+        List<ByteBuffer> mazes = new ArrayList<>();
+        if (BinaryMazeFormat.isBinaryMaze(ByteBuffer.wrap(body))) {
+            mazes.add(ByteBuffer.wrap(body));
+            return mazes;
+        }
+        int start = 0, lineStart = 0;
+        for (int i = 0; i <= body.length; i++) {
+            if (i < body.length && body[i] != '\n') {
+                continue;
+            }
+            boolean blank = i == lineStart || i == lineStart + 1 && body[lineStart] == '\r';
+            if (blank || i == body.length) {
+                // A maze ends before a blank line, or at the end of the body
+                int end = blank ? lineStart : body.length;
+                if (end > start) {
+                    mazes.add(ByteBuffer.wrap(body, start, end - start).slice());
+                }
+                start = i + 1;
+            }
+            lineStart = i + 1;
+        }
+        return mazes;
+    }
+
+    /**
+     * @return The options of the parameters, with the defaults of the server and lowered to its maximums
+     */
+    private SolveOptions options(Map<String, String> parameters) {
+        SolveOptions.Builder options = SolveOptions.builder();
+        long maxSteps = parameters.containsKey("maxSteps") ? Long.parseLong(parameters.get("maxSteps")) : defaultMaxSteps;
+        options.maxSteps(Math.min(maxSteps, maxMaxSteps));
+        Duration timeout = defaultTimeout;
+        if (parameters.containsKey("timeoutMillis")) {
+            timeout = Duration.ofMillis(Long.parseLong(parameters.get("timeoutMillis")));
+            if (timeout.isNegative()) {
+                throw new IllegalArgumentException("Negative timeout: " + timeout.toMillis());
+            }
+        }
+        options.timeout(timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout);
+        if (parameters.containsKey("seed")) {
+            options.seed(Long.parseLong(parameters.get("seed")));
+        }
+        return options.build();
+    }
+
+    /**
+     * @return The length of the body, -1 if the header is absent
+     * @throws IllegalArgumentException If the header is not a length
+     */
+    private static long contentLength(String header) {
+        if (header == null) {
+            return -1;
+        }
+        long length = Long.parseLong(header.trim());
+        if (length < 0) {
+            throw new IllegalArgumentException(header);
+        }
+        return length;
+    }
+
+    private static Map<String, String> parameters(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                parameters.put(decode(parameter.substring(0, equals)), decode(parameter.substring(equals + 1)));
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.etraveligroup.mazechallenge.solver;
+
+/**
+ * Cooperative cancellation of running solvers. A solver checks its token periodically and stops with
+ * {@link SolveStatus#CANCELLED} once {@link #cancel()} has been called, from any thread.
+ *
+ * <p>A token created with a parent is also cancelled when its parent is cancelled.</p>
+ */
+public class CancellationToken {
+
+    private final CancellationToken parent;
+
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * @param parent The token whose cancellation also cancels this one, may be null
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+}
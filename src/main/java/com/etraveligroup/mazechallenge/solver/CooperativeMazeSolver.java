@@ -0,0 +1,93 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounters;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>Several Actors explore the same maze concurrently from the starting point, one task per Actor, with the 'Mark the path'
+ * algorithm. The visits per block are shared by all the Actors (see {@link VisitCounters#concurrentForMaze(Maze)}): an Actor
+ * selecting the least visited block avoids the blocks already passed by the others, so the Actors spread into different
+ * branches of the maze. Deterministic Actors break ties in a direction of their own, so that even Actors starting together
+ * take different branches.</p>
+ *
+ * <p>The first Actor reaching the end point wins, the others are cancelled through a shared {@link CancellationToken} and stop
+ * within {@code 1024} steps. The result is the path of the winning Actor.</p>
+ */
+public class CooperativeMazeSolver extends MazeSolver {
+
+    private final int actors;
+
+    private final ExecutorService executor;
+
+    private final MarkThePathMazeSolver algorithm;
+
+    /**
+     * @param actors         The number of Actors, at least one
+     * @param executor       Runs the Actors, should have a thread per Actor to move them all at the same time
+     * @param withRandomness Solve ambiguous next moves randomly or deterministically
+     */
+    public CooperativeMazeSolver(int actors, ExecutorService executor, boolean withRandomness) {
+        if (actors < 1) {
+            throw new IllegalArgumentException("At least one Actor is needed");
+        }
+        this.actors = actors;
+        this.executor = executor;
+        this.algorithm = new MarkThePathMazeSolver(withRandomness);
+    }
+
+    public CooperativeMazeSolver(Maze maze, Actor actor, int actors, ExecutorService executor, boolean withRandomness) {
+        this(actors, executor, withRandomness);
+        this.maze = maze;
+        this.actor = actor;
+    }
+
+    /**
+     * <p>Moves all the Actors and returns the run of the first one reaching the end point. If no Actor reaches it within the
+     * limits of the options, the run of the last Actor to stop is returned.</p>
+     *
+     * @param context The run of the Actors, with the limits of every Actor's run. Cancelling its token stops all the Actors
+     * @return The run of the winning Actor, not recorded in the metrics
+     */
+    private SolveResult race(SolveContext context) {
+        Maze maze = context.getMaze();
+        VisitCounter visitsPerBlock = VisitCounters.concurrentForMaze(maze);
+        return SolverRace.race(executor, context, actors, (index, actorOptions) -> {
+            SolveContext actorContext = new SolveContext(maze, new Actor(), actorOptions, null, visitsPerBlock);
+            // Actors starting at the same time see no marks yet, each one prefers another direction
+            actorContext.setFirstDirection(index);
+            actorContext.run(algorithm::solve);
+            return actorContext.toResult();
+        });
+    }
+
+    /**
+     * Moves all the Actors and replays the path of the winner in the given context, the run is recorded once in the metrics
+     * with the steps of the winner
+     *
+     * @param context The state of the run
+     */
+    @Override
+    protected void solve(SolveContext context) {
+        SolveResult winner = race(context);
+
+        context.setActorStartingPosition();
+        CompactPath path = winner.getCompactPath();
+        if (path != null) {
+            context.moveAlong(path, 0, path.getMoveCount(), false);
+        }
+        if (!winner.isSolved()) {
+            context.stop(winner.getStatus());
+        }
+        context.finishPath();
+    }
+
+    @Override
+    public String toString() {
+        return "Cooperative " + algorithm + " with " + actors + " Actors";
+    }
+}
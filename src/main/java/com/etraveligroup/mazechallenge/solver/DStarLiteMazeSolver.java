@@ -0,0 +1,86 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+/**
+ * <p>Plans over the map discovered so far with <i>D* Lite</i>. The Actor knows the bounds of the maze and where the end point is,
+ * but like in the other algorithms he only inspects the N/S/E/W neighbours of his position. Blocks never inspected are assumed
+ * accessible. After every move the newly discovered walls are reported to the planner, which repairs its previous search instead of
+ * planning from scratch, and the Actor takes the first move of the shortest path through the known map.</p>
+ *
+ * <p>The Actor never walks back and forth between the same blocks like the counting algorithms do, at the cost of a search per
+ * discovered wall. When the known walls cut the start from the end point the end point is unreachable, see
+ * {@link SolveStatus#UNREACHABLE}.</p>
+ *
+ * <p>A single search may expand a large part of the maze: the deadline and the cancellation token of the run are checked before
+ * every search and during it, not only every {@code 1024} steps.</p>
+ */
+public class DStarLiteMazeSolver extends MazeSolver {
+
+    public DStarLiteMazeSolver() {
+    }
+
+    public DStarLiteMazeSolver(Maze maze, Actor actor) {
+        this.maze = maze;
+        this.actor = actor;
+    }
+
+    @Override
+    protected void solve(SolveContext context) {
+        Maze maze = context.getMaze();
+        Actor actor = context.getActor();
+        Coordinates end = maze.getMazeEnd().getCoordinates();
+        // Walls discovered so far
+        LongIntHashMap knownWalls = new LongIntHashMap(256, 0);
+
+        // Set actor's current position to the starting point of the maze
+        context.setActorStartingPosition();
+        DStarLitePlanner planner = new DStarLitePlanner(maze.getMazeWidth(), maze.getMazeHeight(),
+                maze.getCellIndex(actor.getX(), actor.getY()), maze.getCellIndex(end.getX(), end.getY()),
+                cell -> knownWalls.get(cell) != 0);
+
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
+
+            // Inspect the neighbouring blocks and report the new walls
+            int moves = context.getNextPossibleMoves();
+            for (int i = 0; i < 4; i++) {
+                Directions direction = Directions.fromOrdinal(i);
+                int x = actor.getX() + direction.getDx(), y = actor.getY() + direction.getDy();
+                if ((moves & direction.bit()) == 0 && maze.isWithinBounds(x, y)) {
+                    long wall = maze.getCellIndex(x, y);
+                    if (knownWalls.put(wall, 1) == 0) {
+                        planner.cellChanged(wall);
+                    }
+                }
+            }
+
+            // Follow the shortest path through the known map, a search may take long: the limits are checked on every step
+            if (!planner.computeShortestPath(context)) {
+                break;
+            }
+            int next = planner.nextMove();
+            if (next < 0) {
+                context.stop(SolveStatus.UNREACHABLE);
+                break;
+            }
+            context.moveActor(Directions.fromOrdinal(next));
+            planner.setStart(maze.getCellIndex(actor.getX(), actor.getY()));
+        }
+        context.finishPath();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "D* Lite algorithm";
+    }
+}
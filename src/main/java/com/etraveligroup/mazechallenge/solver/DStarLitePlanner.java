@@ -0,0 +1,354 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * <p>Incremental shortest path planner (<i>D* Lite</i>, Koenig and Likhachev) on the grid of a maze. The search runs backwards
+ * from the goal, so when the start moves or cells become blocked or free only the affected part of the previous search is
+ * repaired. With a start that never moves it is <i>Lifelong Planning A*</i>.</p>
+ *
+ * <p>Cells are identified by their cell index (see {@code Maze.getCellIndex}), moves go to the N/S/E/W neighbours and cost 1.
+ * Whether a cell is blocked is asked to the given predicate; the caller reports every change of it with {@link #cellChanged(long)}.
+ * The g and rhs values are kept in primitive maps, so only the cells reached by the search take memory.</p>
+ *
+ * <p>A search checks the deadline and the cancellation token of the run every {@code 1024} expanded cells. An interrupted search
+ * is resumed by the next {@link #computeShortestPath(SolveContext)}, the cells waiting for expansion are kept.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+class DStarLitePlanner {
+
+    static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Cells expanded between two checks of the limits of the run
+     */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    private final int width;
+
+    private final int height;
+
+    private final long goal;
+
+    private final LongPredicate blocked;
+
+    private final LongIntHashMap g = new LongIntHashMap(1024, INFINITY);
+
+    private final LongIntHashMap rhs = new LongIntHashMap(1024, INFINITY);
+
+    private final CellHeap open = new CellHeap();
+
+    private long start;
+
+    private long lastStart;
+
+    /**
+     * Key modifier, the heuristic distance the start moved since the search began
+     */
+    private long km;
+
+    private long expandedCells;
+
+    /**
+     * @param width   The number of columns of the maze
+     * @param height  The number of rows of the maze
+     * @param start   The cell index of the start
+     * @param goal    The cell index of the goal
+     * @param blocked Tells whether a cell is blocked
+     */
+    DStarLitePlanner(int width, int height, long start, long goal, LongPredicate blocked) {
+        this.width = width;
+        this.height = height;
+        this.start = this.lastStart = start;
+        this.goal = goal;
+        this.blocked = blocked;
+
+        rhs.put(goal, 0);
+        open.insert(goal, heuristic(start, goal), 0);
+    }
+
+    /**
+     * Moves the start of the path, the previous search is kept
+     */
+    void setStart(long start) {
+        this.start = start;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Reports that the given cell became blocked or free. The search is repaired by the next {@link #computeShortestPath(SolveContext)}.
+     */
+    void cellChanged(long cell) {
+        if (lastStart != start) {
+            km += heuristic(lastStart, start);
+            lastStart = start;
+        }
+        updateVertex(cell);
+        for (int i = 0; i < 4; i++) {
+            long neighbour = neighbour(cell, i);
+            if (neighbour >= 0) {
+                updateVertex(neighbour);
+            }
+        }
+    }
+
+    /**
+     * Expands cells until the distance of the start to the goal is known, or until the run is cancelled or late
+     *
+     * @param context The run searching, whose limits are checked before the search and every {@code 1024} expanded cells
+     * @return True if the search is complete, false if the run was stopped
+     */
+    boolean computeShortestPath(SolveContext context) {
+        for (long expanded = 0; open.size() > 0 && (compare(open.topKey1(), open.topKey2(), key1(start), key2(start)) < 0
+                || rhs.get(start) != g.get(start)); expanded++) {
+            if (expanded % CHECK_INTERVAL == 0 && !context.withinDeadline()) {
+                return false;
+            }
+            long cell = open.topCell();
+            long oldKey1 = open.topKey1(), oldKey2 = open.topKey2();
+            long newKey1 = key1(cell), newKey2 = key2(cell);
+            expandedCells++;
+
+            if (compare(oldKey1, oldKey2, newKey1, newKey2) < 0) {
+                // Key out of date since the start moved
+                open.update(cell, newKey1, newKey2);
+            } else if (g.get(cell) > rhs.get(cell)) {
+                // Overconsistent: the distance decreased
+                g.put(cell, rhs.get(cell));
+                open.remove(cell);
+                updateNeighbours(cell);
+            } else {
+                // Underconsistent: the distance increased
+                g.put(cell, INFINITY);
+                updateVertex(cell);
+                updateNeighbours(cell);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The distance of the cell to the goal according to the last search, {@link #INFINITY} if unreachable
+     */
+    int distance(long cell) {
+        return g.get(cell);
+    }
+
+    /**
+     * Returns the direction of the first move of a shortest path from the start
+     *
+     * @return The ordinal of the direction, -1 if the goal is unreachable or the start is the goal
+     */
+    int nextMove() {
+        return nextMove(start);
+    }
+
+    /**
+     * <p>Returns the direction of the next move from a cell of a shortest path from the start. Following these moves from the
+     * start traces a shortest path without searching again.</p>
+     *
+     * @return The ordinal of the direction, -1 if the goal is unreachable or the cell is the goal
+     */
+    int nextMove(long from) {
+        int best = -1;
+        long bestCost = INFINITY;
+        for (int i = 0; i < 4; i++) {
+            long neighbour = neighbour(from, i);
+            if (neighbour >= 0 && !blocked.test(neighbour)) {
+                long cost = plusOne(g.get(neighbour));
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = i;
+                }
+            }
+        }
+        return from == goal || bestCost >= INFINITY ? -1 : best;
+    }
+
+    /**
+     * @return The number of cells expanded by all the searches
+     */
+    long getExpandedCells() {
+        return expandedCells;
+    }
+
+    private void updateNeighbours(long cell) {
+        for (int i = 0; i < 4; i++) {
+            long neighbour = neighbour(cell, i);
+            if (neighbour >= 0) {
+                updateVertex(neighbour);
+            }
+        }
+    }
+
+    private void updateVertex(long cell) {
+        if (cell != goal) {
+            long best = INFINITY;
+            if (!blocked.test(cell)) {
+                for (int i = 0; i < 4; i++) {
+                    long neighbour = neighbour(cell, i);
+                    if (neighbour >= 0 && !blocked.test(neighbour)) {
+                        best = Math.min(best, plusOne(g.get(neighbour)));
+                    }
+                }
+            }
+            rhs.put(cell, (int) Math.min(best, INFINITY));
+        }
+        if (g.get(cell) != rhs.get(cell)) {
+            if (open.contains(cell)) {
+                open.update(cell, key1(cell), key2(cell));
+            } else {
+                open.insert(cell, key1(cell), key2(cell));
+            }
+        } else {
+            open.remove(cell);
+        }
+    }
+
+    private long key1(long cell) {
+        long min = Math.min(g.get(cell), rhs.get(cell));
+        return min >= INFINITY ? Long.MAX_VALUE : min + heuristic(start, cell) + km;
+    }
+
+    private long key2(long cell) {
+        return Math.min(g.get(cell), rhs.get(cell));
+    }
+
+    private static int compare(long key1, long key2, long otherKey1, long otherKey2) {
+        return key1 != otherKey1 ? Long.compare(key1, otherKey1) : Long.compare(key2, otherKey2);
+    }
+
+    private static long plusOne(int distance) {
+        return distance >= INFINITY ? INFINITY : distance + 1L;
+    }
+
+    /**
+     * Manhattan distance, never more than the length of a path
+     */
+    private long heuristic(long from, long to) {
+        return Math.abs(from / width - to / width) + Math.abs(from % width - to % width);
+    }
+
+    /**
+     * @return The cell index of the neighbour in the direction of the given ordinal, -1 if out of bounds
+     */
+    private long neighbour(long cell, int direction) {
+        Directions d = Directions.fromOrdinal(direction);
+        long row = cell / width + d.getDx(), column = cell % width + d.getDy();
+        return row < 0 || row >= height || column < 0 || column >= width ? -1 : row * width + column;
+    }
+
+    /**
+     * Binary min heap of cells ordered by their (key1, key2) pair, with the position of every cell for updates and removals
+     */
+    private static class CellHeap {
+
+        private final LongIntHashMap positions = new LongIntHashMap(1024, -1);
+
+        private long[] cells = new long[64];
+
+        private long[] keys1 = new long[64];
+
+        private long[] keys2 = new long[64];
+
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long cell) {
+            return positions.get(cell) >= 0;
+        }
+
+        long topCell() {
+            return cells[0];
+        }
+
+        long topKey1() {
+            return keys1[0];
+        }
+
+        long topKey2() {
+            return keys2[0];
+        }
+
+        void insert(long cell, long key1, long key2) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+                keys1 = Arrays.copyOf(keys1, size * 2);
+                keys2 = Arrays.copyOf(keys2, size * 2);
+            }
+            set(size, cell, key1, key2);
+            siftUp(size++);
+        }
+
+        void update(long cell, long key1, long key2) {
+            int position = positions.get(cell);
+            set(position, cell, key1, key2);
+            siftDown(siftUp(position));
+        }
+
+        void remove(long cell) {
+            int position = positions.get(cell);
+            if (position < 0) {
+                return;
+            }
+            positions.put(cell, -1);
+            if (position != --size) {
+                set(position, cells[size], keys1[size], keys2[size]);
+                siftDown(siftUp(position));
+            }
+        }
+
+        private void set(int position, long cell, long key1, long key2) {
+            cells[position] = cell;
+            keys1[position] = key1;
+            keys2[position] = key2;
+            positions.put(cell, position);
+        }
+
+        private boolean less(int a, int b) {
+            return compare(keys1[a], keys2[a], keys1[b], keys2[b]) < 0;
+        }
+
+        private void swap(int a, int b) {
+            long cell = cells[a], key1 = keys1[a], key2 = keys2[a];
+            set(a, cells[b], keys1[b], keys2[b]);
+            set(b, cell, key1, key2);
+        }
+
+        private int siftUp(int position) {
+            while (position > 0 && less(position, (position - 1) / 2)) {
+                swap(position, (position - 1) / 2);
+                position = (position - 1) / 2;
+            }
+            return position;
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int smallest = position, left = 2 * position + 1, right = left + 1;
+                if (left < size && less(left, smallest)) {
+                    smallest = left;
+                }
+                if (right < size && less(right, smallest)) {
+                    smallest = right;
+                }
+                if (smallest == position) {
+                    return;
+                }
+                swap(position, smallest);
+                position = smallest;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeChangeListener;
+
+import java.io.Closeable;
+
+/**
+ * <p>Shortest path solver for mazes changing between runs. The solver listens to the {@link com.etraveligroup.mazechallenge.model.maze.MazeUpdate}s
+ * applied to its maze and keeps an incremental planner (<i>Lifelong Planning A*</i>) across runs: after a few cells changed, the next
+ * run repairs the part of the previous search they affect instead of solving from scratch. The Actor then follows the shortest path
+ * without any further search.</p>
+ *
+ * <p>Unlike the other algorithms the whole maze is known to the planner. A run on another maze than the one given to the
+ * constructor plans from scratch. Runs are serialized, the solver is meant for a single live maze; {@link #close()} stops listening
+ * to it.</p>
+ */
+public class IncrementalMazeSolver extends MazeSolver implements MazeChangeListener, Closeable {
+
+    /**
+     * Planner of the maze given to the constructor, created on the first run
+     */
+    private DStarLitePlanner planner;
+
+    public IncrementalMazeSolver(Maze maze, Actor actor) {
+        this.maze = maze;
+        this.actor = actor;
+        maze.addChangeListener(this);
+    }
+
+    @Override
+    public synchronized void cellsChanged(Maze maze, long[] cells) {
+        if (planner != null && maze == this.maze) {
+            for (long cell : cells) {
+                planner.cellChanged(cell);
+            }
+        }
+    }
+
+    @Override
+    protected synchronized void solve(SolveContext context) {
+        Maze target = context.getMaze();
+        DStarLitePlanner runPlanner;
+        if (target == maze) {
+            if (planner == null) {
+                planner = newPlanner(maze);
+            }
+            runPlanner = planner;
+        } else {
+            runPlanner = newPlanner(target);
+        }
+
+        // Set actor's current position to the starting point of the maze
+        context.setActorStartingPosition();
+        Actor actor = context.getActor();
+        // A search from scratch expands the whole maze, it stops at the limits of the run and the next run resumes it
+        if (!runPlanner.computeShortestPath(context)) {
+            context.finishPath();
+            return;
+        }
+
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
+            int next = runPlanner.nextMove(target.getCellIndex(actor.getX(), actor.getY()));
+            if (next < 0) {
+                context.stop(SolveStatus.UNREACHABLE);
+                break;
+            }
+            context.moveActor(Directions.fromOrdinal(next));
+        }
+        context.finishPath();
+    }
+
+    /**
+     * @return The number of cells expanded by all the searches on the maze given to the constructor
+     */
+    public synchronized long getExpandedCells() {
+        return planner != null ? planner.getExpandedCells() : 0;
+    }
+
+    private static DStarLitePlanner newPlanner(Maze maze) {
+        int width = maze.getMazeWidth();
+        return new DStarLitePlanner(width, maze.getMazeHeight(),
+                maze.getCellIndex(maze.getMazeStart().getCoordinates().getX(), maze.getMazeStart().getCoordinates().getY()),
+                maze.getCellIndex(maze.getMazeEnd().getCoordinates().getX(), maze.getMazeEnd().getCoordinates().getY()),
+                cell -> !maze.isAccessible((int) (cell / width) + 1, (int) (cell % width) + 1));
+    }
+
+    @Override
+    public void close() {
+        maze.removeChangeListener(this);
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Incremental shortest path algorithm";
+    }
+}
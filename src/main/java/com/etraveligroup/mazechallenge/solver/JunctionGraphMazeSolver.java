@@ -0,0 +1,180 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.function.LongToIntFunction;
+
+/**
+ * <p><i>Trémaux's algorithm</i> on a junction graph discovered on the fly. Junctions, dead ends, the start and the end point are the
+ * nodes of the graph, the corridors between them are its edges. The Actor still discovers the maze only through the N/S/E/W
+ * neighbours of his position, but decides only at nodes: a corridor is walked once without any decision and recorded as an edge,
+ * and every later traversal of a known edge replays its moves in one operation.</p>
+ *
+ * <p>Marks are counted per edge and the edges are selected with {@link TremauxRules}. When no edge is left at the start point
+ * the end point is unreachable, see {@link SolveStatus#UNREACHABLE}.</p>
+ *
+ * <p>Ambiguous choices are solved randomly in case {@code withRandomness == true} or deterministically
+ * (based on the enum Directions ordering) in case {@code withRandomness == false}</p>
+ */
+public class JunctionGraphMazeSolver extends MazeSolver {
+
+    private final boolean withRandomness;
+
+    public JunctionGraphMazeSolver(boolean withRandomness) {
+        this.withRandomness = withRandomness;
+    }
+
+    public JunctionGraphMazeSolver(Maze maze, Actor actor, boolean withRandomness) {
+        this(withRandomness);
+        this.maze = maze;
+        this.actor = actor;
+    }
+
+    @Override
+    protected void solve(SolveContext context) {
+        JunctionGraph graph = new JunctionGraph();
+        LongToIntFunction marks = graph::marksAt;
+        Actor actor = context.getActor();
+
+        // Set actor's current position to the starting point of the maze
+        context.setActorStartingPosition();
+        long node = context.getMaze().getCellIndex(actor.getX(), actor.getY());
+        // Direction leading back into the edge the Actor arrived from, none at the start point
+        int arrival = -1;
+        // Direction mask of the node, already known when the Actor arrived through a new corridor
+        int moves = -1;
+
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
+
+            if (moves < 0) {
+                moves = context.getNextPossibleMoves();
+            }
+            // Select the edge to follow
+            int direction = TremauxRules.select(context, marks, node, moves, arrival, withRandomness);
+            if (direction < 0) {
+                context.stop(SolveStatus.UNREACHABLE);
+                break;
+            }
+
+            long key = TremauxRules.passage(node, direction);
+            int edge = graph.edgeAt(key);
+            if (edge < 0) {
+                // Walk a new corridor up to the next node
+                edge = discoverEdge(context, graph, key, Directions.fromOrdinal(direction));
+                if (edge < 0) {
+                    break;
+                }
+                moves = context.possibleMoves;
+            } else {
+                // Replay a known corridor
+                context.moveAlong(graph.corridors, graph.offset[edge], graph.length[edge], key != graph.fromKey[edge]);
+                moves = -1;
+            }
+            graph.marks[edge]++;
+
+            long target = key == graph.fromKey[edge] ? graph.toKey[edge] : graph.fromKey[edge];
+            node = target >>> 2;
+            arrival = (int) (target & 3);
+        }
+        context.finishPath();
+    }
+
+    /**
+     * Walks the corridor starting with the given move up to the next node and records it as an edge
+     *
+     * <p>The direction mask of the node reached is left in {@code context.possibleMoves}.</p>
+     *
+     * @return The new edge, -1 if the run stopped inside the corridor
+     */
+    private int discoverEdge(SolveContext context, JunctionGraph graph, long fromKey, Directions direction) {
+        Maze maze = context.getMaze();
+        Actor actor = context.getActor();
+        Coordinates start = maze.getMazeStart().getCoordinates();
+        long offset = graph.corridors.getMoveCount();
+
+        while (true) {
+            context.moveActor(direction);
+            graph.corridors.append(direction);
+
+            int moves = context.possibleMoves = context.getNextPossibleMoves();
+            if (Integer.bitCount(moves) != 2 || context.isActorAtMazeEnd() || actor.isAt(start.getX(), start.getY())) {
+                break;
+            }
+            // Corridor: follow the only way forward
+            direction = Directions.fromOrdinal(Integer.numberOfTrailingZeros(moves & ~direction.opposite().bit()));
+            if (!context.withinLimits()) {
+                return -1;
+            }
+        }
+        long toKey = TremauxRules.passage(maze.getCellIndex(actor.getX(), actor.getY()), direction.opposite().ordinal());
+        return graph.addEdge(fromKey, toKey, offset, graph.corridors.getMoveCount() - offset);
+    }
+
+    /**
+     * Edges discovered during a run. Both ends of an edge, (node cell index, direction), map to the edge. The moves of all the
+     * corridors are kept in one compact path, in the direction they were first walked.
+     */
+    private static class JunctionGraph {
+
+        private final LongIntHashMap edges = new LongIntHashMap(64, -1);
+
+        private final CompactPath corridors = new CompactPath();
+
+        private long[] fromKey = new long[16];
+
+        private long[] toKey = new long[16];
+
+        private long[] offset = new long[16];
+
+        private long[] length = new long[16];
+
+        private int[] marks = new int[16];
+
+        private int edgeCount;
+
+        int edgeAt(long key) {
+            return edges.get(key);
+        }
+
+        int marksAt(long key) {
+            int edge = edges.get(key);
+            return edge < 0 ? 0 : marks[edge];
+        }
+
+        int addEdge(long from, long to, long corridorOffset, long corridorLength) {
+            if (edgeCount == marks.length) {
+                int capacity = edgeCount * 2;
+                fromKey = Arrays.copyOf(fromKey, capacity);
+                toKey = Arrays.copyOf(toKey, capacity);
+                offset = Arrays.copyOf(offset, capacity);
+                length = Arrays.copyOf(length, capacity);
+                marks = Arrays.copyOf(marks, capacity);
+            }
+            int edge = edgeCount++;
+            fromKey[edge] = from;
+            toKey[edge] = to;
+            offset[edge] = corridorOffset;
+            length[edge] = corridorLength;
+            edges.put(from, edge);
+            edges.put(to, edge);
+            return edge;
+        }
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return !withRandomness;
+    }
+
+    @Override
+    public String toString() {
+        return "Junction graph algorithm" + (withRandomness ? " Randomness" : " Deterministic") + " version";
+    }
+}
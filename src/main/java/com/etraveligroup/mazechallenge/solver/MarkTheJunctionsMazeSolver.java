@@ -0,0 +1,95 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+import java.util.function.LongToIntFunction;
+
+/**
+ * <p>Memory-lean variant of 'Mark the path', the classic form of <i>Trémaux's algorithm</i>. Instead of counting the visits of every
+ * block passed, the Actor only marks the passages of the junctions (and of the start point) he enters or leaves. Corridors are
+ * followed and dead ends are turned back from without any mark.</p>
+ *
+ * <p>Marks are kept in a primitive map keyed by {@code cell index << 2 | direction ordinal}, so the state of a run grows with the
+ * number of junctions explored instead of the explored area. Passages are selected with {@link TremauxRules}, which gives the same
+ * termination guarantee: no passage is taken more than twice and an unreachable end point is detected, see
+ * {@link SolveStatus#UNREACHABLE}.</p>
+ *
+ * <p>Ambiguous choices are solved randomly in case {@code withRandomness == true} or deterministically
+ * (based on the enum Directions ordering) in case {@code withRandomness == false}</p>
+ */
+public class MarkTheJunctionsMazeSolver extends MazeSolver {
+
+    private final boolean withRandomness;
+
+    public MarkTheJunctionsMazeSolver(boolean withRandomness) {
+        this.withRandomness = withRandomness;
+    }
+
+    public MarkTheJunctionsMazeSolver(Maze maze, Actor actor, boolean withRandomness) {
+        this(withRandomness);
+        this.maze = maze;
+        this.actor = actor;
+    }
+
+    @Override
+    protected void solve(SolveContext context) {
+        LongIntHashMap passages = new LongIntHashMap(64, 0);
+        LongToIntFunction marks = passages::get;
+        Actor actor = context.getActor();
+        Coordinates start = context.getMaze().getMazeStart().getCoordinates();
+
+        // Set actor's current position to the starting point of the maze
+        context.setActorStartingPosition();
+        // Last move of the Actor, none at the start point
+        Directions direction = null;
+
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
+
+            // Get all next possible moves from Actor's current location
+            int moves = context.getNextPossibleMoves();
+            int exits = Integer.bitCount(moves);
+            boolean atStart = actor.isAt(start.getX(), start.getY());
+
+            if (direction != null && exits == 2 && !atStart) {
+                // Corridor: follow the only way forward
+                direction = Directions.fromOrdinal(Integer.numberOfTrailingZeros(moves & ~direction.opposite().bit()));
+            } else if (direction != null && exits == 1 && !atStart) {
+                // Dead end: turn back
+                direction = direction.opposite();
+            } else {
+                // Junction: mark the passage of the arrival and select the passage to leave
+                long junction = context.getMaze().getCellIndex(actor.getX(), actor.getY());
+                int arrival = direction != null ? direction.opposite().ordinal() : -1;
+                if (arrival >= 0) {
+                    passages.addTo(TremauxRules.passage(junction, arrival), 1);
+                }
+                int selected = TremauxRules.select(context, marks, junction, moves, arrival, withRandomness);
+                if (selected < 0) {
+                    context.stop(SolveStatus.UNREACHABLE);
+                    break;
+                }
+                passages.addTo(TremauxRules.passage(junction, selected), 1);
+                direction = Directions.fromOrdinal(selected);
+            }
+
+            // Move Actor and add the new block in Actor's path
+            context.moveActor(direction);
+        }
+        context.finishPath();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return !withRandomness;
+    }
+
+    @Override
+    public String toString() {
+        return "Mark The Junctions algorithm" + (withRandomness ? " Randomness" : " Deterministic") + " version";
+    }
+}
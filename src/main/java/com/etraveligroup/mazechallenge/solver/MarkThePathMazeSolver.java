@@ -3,25 +3,36 @@ package com.etraveligroup.mazechallenge.solver;
 import com.etraveligroup.mazechallenge.model.actor.Actor;
 import com.etraveligroup.mazechallenge.model.block.Block;
 import com.etraveligroup.mazechallenge.model.maze.Maze;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 
 public class MarkThePathMazeSolver extends MazeSolver {
 
-    private static final Logger logger = LogManager.getLogger(MazeSolver.class);
+    private final boolean withRandomness;
+
+    public MarkThePathMazeSolver(boolean withRandomness) {
+        this.withRandomness = withRandomness;
+    }
 
     public MarkThePathMazeSolver(Maze maze, Actor actor) {
+        this(maze, actor, true);
+    }
+
+    public MarkThePathMazeSolver(Maze maze, Actor actor, boolean withRandomness) {
         this.maze = maze;
         this.actor = actor;
+        this.withRandomness = withRandomness;
     }
 
-    boolean withRandomness = true;
-
+    /**
+     * Solves the maze given to the constructor with the given version of the algorithm
+     *
+     * @param withRandomness Solve ambiguous next moves randomly or deterministically
+     * @return The Actor's path from start to finish
+     */
     public List<Block> solveMaze(boolean withRandomness) {
-        this.withRandomness = withRandomness;
-        return solveMaze();
+        solveMaze(name(withRandomness), SolveOptions.UNBOUNDED, context -> solve(context, withRandomness));
+        return getPath();
     }
 
     /**
@@ -34,65 +45,72 @@ public class MarkThePathMazeSolver extends MazeSolver {
      * either randomly or deterministically (based on the enum Directions ordering). The deterministic version of the algorithm always outputs the same path.
      * The random version of the algorithm may output different paths</p>
      *
-     * <p>Ambiguous next moves are solved randomly in case parameter {@code withRandomness == true}
-     * or deterministically in case parameter {@code withRandomness == false}</p>
+     * <p>Ambiguous next moves are solved randomly in case {@code withRandomness == true}
+     * or deterministically in case {@code withRandomness == false}</p>
      *
-     * @return The Actor's path from start to finish
+     * @param context The state of the run
      */
     @Override
-    public List<Block> solveMaze() {
-        // Log
-        logger.info("For " + maze.getName());
-        logger.info("Starting Mark The Path algorithm" + (withRandomness ? " Randomness" : " Deterministic") + " version execution...");
-
-        // init
-        initSolver();
+    protected void solve(SolveContext context) {
+        solve(context, withRandomness);
+    }
 
+    private void solve(SolveContext context, boolean withRandomness) {
         // Set actor's current position to the starting point of the maze
-        setActorStartingPosition();
+        context.setActorStartingPosition();
         // Add starting position to visitsPerBlock
-        updateVisitsPerBlock(maze.getMazeStart());
+        context.updateVisits(context.getActor().getX(), context.getActor().getY());
 
-        if (maze != null && actor != null) {
-            // For random version only we need to keep the last direction moved (previousDirection)
-            if (withRandomness) {
-                // Initialize
-                possibleMoves = getNextPossibleMoves();
-                previousDirection = nextMoveDirection = randomlySelectNextMoveDirection();
-            }
-
-            // While Actor is not at the end point of the maze
-            while (!actor.getCurrentPosition().equals(maze.getMazeEnd().getCoordinates())) {
-
-                // Get all next possible moves from Actor's current location
-                possibleMoves = getNextPossibleMoves();
+        // For random version only we need to keep the last direction moved (previousDirection)
+        if (withRandomness) {
+            // Initialize
+            context.possibleMoves = context.getNextPossibleMoves();
+            context.previousDirection = context.nextMoveDirection = context.randomlySelectNextMoveDirection();
+        }
 
-                // Select Actor's next move either randomly or deterministically
-                if (withRandomness) {
-                    // Solving ambiguous situations with randomness
-                    nextMoveDirection = randomlySelectNextMoveDirectionWithMinVisits();
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
 
-                    // Keep last direction for the next iteration
-                    previousDirection = nextMoveDirection;
-                } else {
-                    // Solving ambiguous situations deterministically
-                    nextMoveDirection = deterministicSelectNextMoveDirectionWithMinVisits();
-                }
+            // Get all next possible moves from Actor's current location
+            context.possibleMoves = context.getNextPossibleMoves();
+            // Only a start point walled in has no way out
+            if (context.possibleMoves == 0) {
+                context.stop(SolveStatus.UNREACHABLE);
+                break;
+            }
 
-                // Move Actor
-                actor.move(nextMoveDirection);
+            // Select Actor's next move either randomly or deterministically
+            if (withRandomness) {
+                // Solving ambiguous situations with randomness
+                context.nextMoveDirection = context.randomlySelectNextMoveDirectionWithMinVisits();
+
+                // Keep last direction for the next iteration
+                context.previousDirection = context.nextMoveDirection;
+            } else {
+                // Solving ambiguous situations deterministically
+                context.nextMoveDirection = context.deterministicSelectNextMoveDirectionWithMinVisits();
+            }
 
-                // Update number of visits for the current position
-                updateVisitsPerBlock(possibleMoves.get(nextMoveDirection));
+            // Move Actor and add the new block in Actor's path
+            context.moveActor(context.nextMoveDirection);
 
-                // Add this block in Actor's path
-                path.add(possibleMoves.get(nextMoveDirection));
-            }
-            logger.info("Execution completed");
-            printPath();
+            // Update number of visits for the current position
+            context.updateVisits(context.getActor().getX(), context.getActor().getY());
         }
-        return path;
+        context.finishPath();
     }
 
+    private static String name(boolean withRandomness) {
+        return "Mark The Path algorithm" + (withRandomness ? " Randomness" : " Deterministic") + " version";
+    }
 
+    @Override
+    public boolean isDeterministic() {
+        return !withRandomness;
+    }
+
+    @Override
+    public String toString() {
+        return name(withRandomness);
+    }
 }
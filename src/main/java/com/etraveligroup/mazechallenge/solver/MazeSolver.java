@@ -1,246 +1,254 @@
 package com.etraveligroup.mazechallenge.solver;
 
 import com.etraveligroup.mazechallenge.model.actor.Actor;
-import com.etraveligroup.mazechallenge.model.actor.Directions;
 import com.etraveligroup.mazechallenge.model.block.Block;
-import com.etraveligroup.mazechallenge.model.block.BlockTypes;
 import com.etraveligroup.mazechallenge.model.block.Coordinates;
 import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.metrics.SolverMetrics;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.solver.path.PathSink;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * {@code MazeSolver} class provides algorithms for solving the maze challenge. There is 2 different algorithms implemented.
  * <p>1.) Random mouse algorithm. A naive way for solving the maze challenge. For large mazes it can be extremely slow</p>
  * <p>2.) Mark the path algorithm, an altered version of Trémaux's algorithm. For the second we may choose between Random implementation
  * (may produce different outputs cause of randomness) or Deterministic implementation (always same output).</p>
+ *
+ * <p>A solver only holds its configuration, the state of every run lives in a new {@link SolveContext}. The {@link #solve(Maze)}
+ * methods are thread-safe: one solver may solve many mazes at the same time, see {@link #solveAll(Collection, ExecutorService, SolveOptions)}.</p>
+ *
+ * <p>The {@link #solveMaze()} methods run on the maze and Actor given to the constructor and keep the last run for
+ * {@link #getPath()}. They are meant for a single thread.</p>
+ *
+ * <p>Every run is recorded in the {@link #getMetrics() metrics} of the solver.</p>
  */
 public abstract class MazeSolver {
 
     private static final Logger logger = LogManager.getLogger(MazeSolver.class);
 
+    /**
+     * Blocks of a path printed at most, a longer path is printed with its first blocks and its length
+     */
+    private static final int PRINTED_BLOCKS = 100;
+
     protected Maze maze;
 
     protected Actor actor;
 
     /**
-     * <p>{@code Key}: all the next directions the Actor is able to move based on his current location</p>
-     * <p>{@code Value}: the next accessible block for this direction (key)</p>
+     * Receives every move of the Actor in {@link #solveMaze()} runs. When null the path is recorded
      */
-    Map<Directions, Block> possibleMoves;
+    private PathSink pathSink;
 
     /**
-     * Used from 'Mark the path' algorithm to store information for previous visited blocks (visits per block).
+     * The last {@link #solveMaze()} run
      */
-    private Map<Block, Integer> visitsPerBlock = new HashMap<>();
-
-    Directions nextMoveDirection = null;
+    private SolveContext lastRun;
 
-    List<Block> path = new ArrayList<>();
-
-    Directions previousDirection = null;
+    private final SolverMetrics metrics = new SolverMetrics();
 
     public MazeSolver() {
     }
 
-    public void initSolver() {
-        nextMoveDirection = null;
-        path = new ArrayList<>();
-        path.add(maze.getMazeStart());
-        visitsPerBlock = new HashMap<>();
-    }
-
-    public abstract List<Block> solveMaze();
-
     /**
-     * Randomly selects one of the next possible directions
+     * Solves the maze with a new Actor. May be called concurrently.
      *
-     * @return The next direction randomly selected
+     * @param maze The maze to solve
+     * @return The status, the Actor's path and the statistics of the run
      */
-    protected Directions randomlySelectNextMoveDirection() {
-        // Shuffle all next possible directions
-        List<Directions> shuffledPossibleDirections = new ArrayList(Arrays.asList(possibleMoves.keySet().toArray(new Directions[0])));
-        Collections.shuffle(shuffledPossibleDirections);
-
-        // If already has a direction (after starting point)
-        if (previousDirection != null)
-            // Remove the opposite direction of the current direction from the list to avoid follow the same way back
-            shuffledPossibleDirections.remove(getOppositeDirectionBlock(previousDirection));
-
-        // The list of direction is shuffled. We return the first element of the list which is randomly placed in this position
-        return shuffledPossibleDirections.get(0);
+    public SolveResult solve(Maze maze) {
+        return solve(maze, SolveOptions.UNBOUNDED);
     }
 
     /**
-     * Mark the previous visited block
+     * <p>Solves the maze with a new Actor within the limits of the given options. May be called concurrently, the maze is only read.</p>
+     *
+     * @param maze    The maze to solve
+     * @param options The step budget, deadline and cancellation token of the run
+     * @return The status, the Actor's path and the statistics of the run
      */
-    protected void updateVisitsPerBlock(Block newPosition) {
-        visitsPerBlock.put(newPosition, visitsPerBlock.get(newPosition) != null ? visitsPerBlock.get(newPosition) + 1 : 1);
+    public SolveResult solve(Maze maze, SolveOptions options) {
+        SolveContext context = new SolveContext(maze, new Actor(), options, null);
+        context.run(this::solve);
+        return finish(context);
     }
 
     /**
-     * Actor selects the block with the minimum number of visits. In case there is more than one blocks with minimum number of visits
-     * then selects deterministically one of those blocks based on enum Directions ordering.
+     * <p>Solves all the mazes on the given executor, one task per maze. Waits for all the runs to complete.</p>
      *
-     * @return The next direction deterministically selected from all possible next directions
+     * @param mazes    The mazes to solve
+     * @param executor The executor running the solver
+     * @param options  The limits of every run
+     * @return The results in the iteration order of the mazes
+     * @throws InterruptedException If interrupted while waiting, the remaining runs are cancelled
      */
-    protected Directions deterministicSelectNextMoveDirectionWithMinVisits() {
-        // Find the minimum of visits for the next possible moves
-        int minVisits = findMinimumVisits();
+    public List<SolveResult> solveAll(Collection<Maze> mazes, ExecutorService executor, SolveOptions options) throws InterruptedException {
+        List<Callable<SolveResult>> tasks = new ArrayList<>(mazes.size());
+        for (Maze maze : mazes) {
+            tasks.add(() -> solve(maze, options));
+        }
 
-        for (Directions direction : Directions.values()) {
-            if (possibleMoves.get(direction) != null
-                    && (visitsPerBlock.get(possibleMoves.get(direction)) == null || visitsPerBlock.get(possibleMoves.get(direction)) == minVisits)) {
-                return direction;
+        List<SolveResult> results = new ArrayList<>(tasks.size());
+        for (Future<SolveResult> future : executor.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
             }
         }
-        return Directions.NORTH;
+        return results;
     }
 
     /**
-     * Actor selects the block with the minimum number of visits. If there is more than one blocks with minimum number of visits
-     * then selects randomly one of those blocks.
+     * Runs the algorithm until the Actor reaches the end point or a limit of the run is reached
      *
-     * @return The next direction randomly selected from all possible next directions
+     * @param context The state of the run
      */
-    public Directions randomlySelectNextMoveDirectionWithMinVisits() {
-        // Find the minimum of visits for the next possible moves
-        int minVisits = findMinimumVisits();
-
-        // Shuffle all next possible directions
-        List<Directions> shuffledPossibleDirections = new ArrayList(Arrays.asList(possibleMoves.keySet().toArray(new Directions[0])));
-        Collections.shuffle(shuffledPossibleDirections);
+    protected abstract void solve(SolveContext context);
 
-        for (Directions direction : shuffledPossibleDirections) {
-            if (possibleMoves.get(direction) != null
-                    && (visitsPerBlock.get(possibleMoves.get(direction)) == null || visitsPerBlock.get(possibleMoves.get(direction)) == minVisits)) {
-                return direction;
-            }
-        }
-        return Directions.NORTH;
+    /**
+     * Solves the maze given to the constructor with the Actor given to the constructor
+     *
+     * @return The Actor's path from start to finish
+     */
+    public List<Block> solveMaze() {
+        solveMaze(toString(), SolveOptions.UNBOUNDED, this::solve);
+        return getPath();
     }
 
     /**
-     * Returns all the next possible moves of actor
+     * <p>Solves the maze given to the constructor within the limits of the given options. Unlike {@link #solveMaze()} the run may stop
+     * before the end point is reached, the result tells why and keeps the partial path.</p>
      *
-     * @return The next possible moves
-     */
-    protected Map<Directions, Block> getNextPossibleMoves() {
-        Map<Directions, Block> possibleMoves = new HashMap<>();
-
-        // For each direction (NORTH, SOUTH, EAST, WEST) check block accessibility
-        for (Directions direction : Directions.values()) {
-            Block nextBlock = getNextBlock(direction);
-            // If next block is accessible
-            if (checkIfBlockIsAccessible(nextBlock)) {
-                // Add the direction
-                possibleMoves.put(direction, nextBlock);
-            }
-        }
-        return possibleMoves;
+     * @param options The step budget, deadline and cancellation token of the run
+     * @return The status, the Actor's path and the statistics of the run
+     */
+    public SolveResult solve(SolveOptions options) {
+        return solveMaze(toString(), options, this::solve);
     }
 
     /**
-     * <p>Check if a maze block is accessible, given its coordinates on map. An actor may access a block if it is withing the bounds of the maze
-     * and if it is not a wall {@code BlockType.WALL}</p>
-     *
-     * @param block The location of the block on the maze map
-     * @return True if the given block is accessible
+     * Runs the given algorithm on the maze and the Actor given to the constructor and keeps the run for {@link #getPath()}
      */
-    protected boolean checkIfBlockIsAccessible(Block block) {
-        return block != null && !block.getBlockType().equals(BlockTypes.WALL);
+    protected SolveResult solveMaze(String algorithmName, SolveOptions options, Consumer<SolveContext> algorithm) {
+        // Log
+        logger.info("For " + maze.getName());
+        logger.info("Starting " + algorithmName + " execution...");
+
+        SolveContext context = new SolveContext(maze, actor, options, pathSink);
+        lastRun = context;
+        context.run(algorithm);
+
+        SolveResult result = finish(context);
+        if (result.isSolved()) {
+            logger.info("Execution completed");
+            printPath();
+        } else {
+            logger.info("Execution stopped after " + result.getSteps() + " steps");
+        }
+        return result;
     }
 
     /**
-     * Returns the neighboring block of the given direction
+     * <p>A deterministic solver takes the same path on the same maze in every run, whatever the seed of the options. The path of
+     * any other solver depends on the seed, see {@link SolveOptions.Builder#seed(long)}.</p>
      *
-     * @param direction The direction of the next neighboring block
-     * @return The neighboring block of the given direction
+     * @return True if every run on the same maze takes the same path
      */
-    protected Block getNextBlock(Directions direction) {
-        int x = actor.getCurrentPosition().getX(), y = actor.getCurrentPosition().getY();
-
-        switch (direction) {
-            case EAST:
-                y++;
-                break;
-            case WEST:
-                y--;
-                break;
-            case NORTH:
-                x--;
-                break;
-            case SOUTH:
-                x++;
-                break;
-        }
-        return maze.getBlocks().get(new Coordinates(x, y));
+    public boolean isDeterministic() {
+        return false;
     }
 
     /**
-     * Returns the opposite direction of the given direction
+     * Ends a run and records it in the metrics of the solver
      *
-     * @param direction The given direction
-     * @return The opposite direction of the given one
-     */
-    protected Directions getOppositeDirectionBlock(Directions direction) {
-        switch (direction) {
-            case EAST:
-                return Directions.WEST;
-            case WEST:
-                return Directions.EAST;
-            case NORTH:
-                return Directions.SOUTH;
-            default:
-                return Directions.NORTH;
-        }
+     * @param context The state of the run, once the algorithm has returned
+     * @return The outcome of the run
+     */
+    protected SolveResult finish(SolveContext context) {
+        SolveResult result = context.toResult();
+        metrics.record(context, result);
+        return result;
     }
 
     /**
-     * Set actor's current position to the starting point of the maze
+     * @return The metrics of all the runs of this solver
      */
-    protected void setActorStartingPosition() {
-        actor.setCurrentPosition(maze.getMazeStart().getCoordinates());
+    public SolverMetrics getMetrics() {
+        return metrics;
     }
 
     /**
-     * For the next possible moves, calculates the minimum number of visits. If exist a block that is not yet visited then minimum number of visits is zero
-     *
-     * @return The minimum number of visits from the next accessible blocks
+     * @return The number of Actor's moves of the last run
      */
-    protected int findMinimumVisits() {
-        // Previous visits for the next possible moves
-        Map<Block, Integer> possibleMovesVisits = new HashMap<>();
+    public long getSteps() {
+        return lastRun != null ? lastRun.getSteps() : 0;
+    }
 
-        // For each next possible move
-        for (Block nextMove : possibleMoves.values()) {
-            // If there is any block that is not yet visited then minimum previous visits is zero
-            if (visitsPerBlock.get(nextMove) == null) {
-                return 0;
+    /**
+     * Prints Actor's path, at most its first {@code 100} blocks followed by the number of blocks of the path. The blocks are
+     * decoded one by one, the memory used does not depend on the length of the path.
+     */
+    public void printPath() {
+        CompactPath path = getCompactPath();
+        if (path == null || !logger.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder outputPath = new StringBuilder();
+        int printed = 0;
+        for (Coordinates coordinates : path) {
+            if (printed == PRINTED_BLOCKS) {
+                outputPath.append(", ... (").append(path.size()).append(" blocks)");
+                break;
+            } else if (printed++ > 0) {
+                outputPath.append(", ");
             }
-            // Add the previous visits to map
-            possibleMovesVisits.put(nextMove, visitsPerBlock.get(nextMove) == null ? 0 : visitsPerBlock.get(nextMove));
+            outputPath.append(new Block(coordinates, maze.getBlockType(coordinates.getX(), coordinates.getY())));
         }
-        // Return the next move with minimum number of previous visits
-        return Collections.min(possibleMovesVisits.values());
+        logger.info(outputPath.append("\n").toString());
     }
 
     /**
-     * Prints Actor's path
+     * Returns Actor's path of the last run as a list of blocks. Blocks are decoded from the compact path on access.
+     *
+     * @return The path, or an empty list if the path was streamed to a custom {@code PathSink}
      */
-    public void printPath() {
-        StringBuilder outputPath = new StringBuilder();
-        // Build the path as string
-        path.forEach(block -> outputPath.append(block.toString()).append(", "));
+    public List<Block> getPath() {
+        CompactPath path = getCompactPath();
+        return path != null ? path.asBlockList(maze) : Collections.emptyList();
+    }
 
-        // Remove the last 2 characters (comma and blank)
-        logger.info(outputPath.substring(0, outputPath.length() - 2) + "\n");
+    /**
+     * @return Actor's path of the last run, or null if the path was streamed to a custom {@code PathSink}
+     */
+    public CompactPath getCompactPath() {
+        return lastRun != null ? lastRun.getCompactPath() : null;
     }
 
-    public List<Block> getPath() {
-        return path;
+    /**
+     * Streams the moves of the next {@link #solveMaze()} runs to the given sink instead of recording them.
+     * Passing null restores the default recording of the path.
+     *
+     * @param pathSink The sink receiving the Actor's moves
+     */
+    public void setPathSink(PathSink pathSink) {
+        this.pathSink = pathSink;
+        this.lastRun = null;
     }
 
 }
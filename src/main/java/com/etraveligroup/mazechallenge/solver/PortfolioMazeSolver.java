@@ -0,0 +1,81 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>Races several solvers on the same maze in parallel and returns the first path reaching the end point. The other runs
+ * are cancelled through a shared {@link CancellationToken} as soon as a winner is found, they stop within {@code 1024} steps.</p>
+ *
+ * <p>Algorithms have very different running times depending on the maze topology. Racing them trades idle cores for a
+ * lower and more predictable latency. Randomized members may be repeated to race several seeds of the same algorithm.</p>
+ */
+public class PortfolioMazeSolver extends MazeSolver {
+
+    private final List<MazeSolver> members;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param members  The solvers to race, at least one
+     * @param executor Runs the members, should have a thread per member to race them all
+     */
+    public PortfolioMazeSolver(List<MazeSolver> members, ExecutorService executor) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A portfolio needs at least one solver");
+        }
+        this.members = new ArrayList<>(members);
+        this.executor = executor;
+    }
+
+    public PortfolioMazeSolver(Maze maze, Actor actor, List<MazeSolver> members, ExecutorService executor) {
+        this(members, executor);
+        this.maze = maze;
+        this.actor = actor;
+    }
+
+    /**
+     * <p>Runs all the members and returns the result of the first one reaching the end point. If no member reaches it
+     * within the limits of the options, the result of the last member to stop is returned.</p>
+     *
+     * @param context The run of the portfolio, with the limits of every member run. Cancelling its token cancels all the
+     *                members
+     * @return The result of the winning member
+     */
+    private SolveResult race(SolveContext context) {
+        Maze maze = context.getMaze();
+        return SolverRace.race(executor, context, members.size(), (index, memberOptions) ->
+                members.get(index).solve(maze, memberOptions));
+    }
+
+    /**
+     * Races the members and replays the path of the winner in the given context, so that the run of the portfolio is
+     * recorded once in its metrics whichever way it is started
+     *
+     * @param context The state of the run
+     */
+    @Override
+    protected void solve(SolveContext context) {
+        SolveResult winner = race(context);
+
+        context.setActorStartingPosition();
+        CompactPath path = winner.getCompactPath();
+        if (path != null) {
+            context.moveAlong(path, 0, path.getMoveCount(), false);
+        }
+        if (!winner.isSolved()) {
+            context.stop(winner.getStatus());
+        }
+        context.finishPath();
+    }
+
+    @Override
+    public String toString() {
+        return "Portfolio of " + members;
+    }
+}
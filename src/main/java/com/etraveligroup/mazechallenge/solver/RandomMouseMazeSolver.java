@@ -1,16 +1,13 @@
 package com.etraveligroup.mazechallenge.solver;
 
 import com.etraveligroup.mazechallenge.model.actor.Actor;
-import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
 import com.etraveligroup.mazechallenge.model.maze.Maze;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-import java.util.List;
 
 public class RandomMouseMazeSolver extends MazeSolver {
 
-    private static final Logger logger = LogManager.getLogger(MazeSolver.class);
+    public RandomMouseMazeSolver() {
+    }
 
     public RandomMouseMazeSolver(Maze maze, Actor actor) {
         this.maze = maze;
@@ -22,52 +19,47 @@ public class RandomMouseMazeSolver extends MazeSolver {
      * He then makes a random decision about the next direction to follow. This is a simple algorithm,
      * which can produce different paths due to randomness. For large mazes this algorithm can be extremely slow.
      *
-     * @return The Actor's path from start to finish
+     * @param context The state of the run
      */
     @Override
-    public List<Block> solveMaze() {
-        // Log
-        logger.info("For " + maze.getName());
-        logger.info("Starting Random mouse algorithm execution...");
-
-        // init
-        initSolver();
-
+    protected void solve(SolveContext context) {
         // Set actor's current position to the starting point of the maze
-        setActorStartingPosition();
-
-        if (maze != null && actor != null) {
-            // Initialize
-            possibleMoves = getNextPossibleMoves();
-            previousDirection = nextMoveDirection = randomlySelectNextMoveDirection();
+        context.setActorStartingPosition();
 
-            // While Actor is not at the end point of the maze
-            while (!actor.getCurrentPosition().equals(maze.getMazeEnd().getCoordinates())) {
+        // Initialize
+        context.possibleMoves = context.getNextPossibleMoves();
+        context.previousDirection = context.nextMoveDirection = context.randomlySelectNextMoveDirection();
 
-                // Get all next possible moves from Actor's current location
-                possibleMoves = getNextPossibleMoves();
+        // While Actor is not at the end point of the maze (and within the limits of the run)
+        while (!context.isActorAtMazeEnd() && context.withinLimits()) {
 
-                // If exist more than one next possible directions (junction)
-                if (possibleMoves.size() > 1) {
-                    // Select randomly one
-                    nextMoveDirection = randomlySelectNextMoveDirection();
-                } else {
-                    // Follow the same direction (until reach junction)
-                    nextMoveDirection = possibleMoves.keySet().iterator().next();
-                }
-                // Move Actor
-                actor.move(nextMoveDirection);
-
-                // Keep last direction for the next iteration
-                previousDirection = nextMoveDirection;
+            // Get all next possible moves from Actor's current location
+            context.possibleMoves = context.getNextPossibleMoves();
+            // Only a start point walled in has no way out
+            if (context.possibleMoves == 0) {
+                context.stop(SolveStatus.UNREACHABLE);
+                break;
+            }
 
-                // Add this block in Actor's path
-                path.add(possibleMoves.get(nextMoveDirection));
+            // If exist more than one next possible directions (junction)
+            if (Integer.bitCount(context.possibleMoves) > 1) {
+                // Select randomly one
+                context.nextMoveDirection = context.randomlySelectNextMoveDirection();
+            } else {
+                // Follow the same direction (until reach junction)
+                context.nextMoveDirection = Directions.fromOrdinal(Integer.numberOfTrailingZeros(context.possibleMoves));
             }
-            logger.info("Execution completed!");
-            printPath();
+            // Move Actor and add the new block in Actor's path
+            context.moveActor(context.nextMoveDirection);
+
+            // Keep last direction for the next iteration
+            context.previousDirection = context.nextMoveDirection;
         }
-        return path;
+        context.finishPath();
     }
 
+    @Override
+    public String toString() {
+        return "Random mouse algorithm";
+    }
 }
@@ -0,0 +1,559 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.StreamingMaze;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeStreamWaitException;
+import com.etraveligroup.mazechallenge.solver.metrics.AllocationCounter;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.solver.path.PathSink;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounters;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * <p>State of a single solver run: the maze, the Actor, the visits per block, the path and the limits of the run.
+ * A new context is created for every run, so one {@link MazeSolver} may serve many runs at the same time.
+ * A context itself is confined to the thread running the solver.</p>
+ *
+ * <p>The possible moves of the Actor are kept as a direction mask: bit {@code Directions.ordinal()} is set for every accessible
+ * neighbouring block (see {@link Directions#bit()}). Enumerating and selecting moves does not allocate.</p>
+ *
+ * <p>The events of the run (revisits, junctions, dead ends) are counted in plain fields and added to the metrics of the solver
+ * once the run is over, see {@link com.etraveligroup.mazechallenge.solver.metrics.SolverMetrics}.</p>
+ *
+ * <p>On a {@link StreamingMaze} the waits for rows not loaded yet are bounded by the deadline and the cancellation token of the
+ * run: a stalled stream stops the run as {@link SolveStatus#DEADLINE_EXCEEDED} or {@link SolveStatus#CANCELLED}.</p>
+ */
+public class SolveContext {
+
+    /**
+     * The deadline and the cancellation token are checked every {@code 1024} steps
+     */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    private final Maze maze;
+
+    private final Actor actor;
+
+    private final SolveOptions options;
+
+    /**
+     * Direction mask of all the next directions the Actor is able to move based on his current location
+     */
+    int possibleMoves;
+
+    Directions nextMoveDirection = null;
+
+    Directions previousDirection = null;
+
+    /**
+     * Used from 'Mark the path' algorithm to store information for previous visited blocks (visits per block).
+     * Dense or sparse depending on the maze size, see {@link VisitCounters}. May be shared with the runs of other Actors.
+     */
+    private VisitCounter visitsPerBlock;
+
+    /**
+     * Actor's path, 2 bits per move. Null when the path is streamed to a custom {@link #pathSink}
+     */
+    private final CompactPath path;
+
+    /**
+     * Receives every move of the Actor. By default it is the {@link #path} of the run
+     */
+    private final PathSink pathSink;
+
+    private long steps;
+
+    private final long startNanos;
+
+    private final long deadlineNanos;
+
+    private SolveStatus stopStatus;
+
+    /**
+     * Steps of the next deadline and cancellation check
+     */
+    private long nextCheckSteps;
+
+    private long revisits;
+
+    private long junctionDecisions;
+
+    private long deadEndBacktracks;
+
+    /**
+     * Steps of the last inspection counted in the events, a position inspected again before the next move is counted once
+     */
+    private long inspectedSteps = -1;
+
+    /**
+     * The start point of the maze, {@code 0} if the run stopped while waiting for it
+     */
+    private final int startX;
+
+    private final int startY;
+
+    /**
+     * The direction preferred by the deterministic selection among equally visited blocks, the others follow in ordinal order
+     */
+    private int firstDirection;
+
+    private int maxVisitCount;
+
+    /**
+     * Bytes allocated by the thread of the run when it started, -1 if unknown
+     */
+    private final long startAllocatedBytes;
+
+    /**
+     * Bytes allocated by the runs raced on other threads for this run
+     */
+    private long racedAllocatedBytes;
+
+    private long allocatedBytes = -1;
+
+    private final long seed;
+
+    /**
+     * Random choices of the run. Not shared between runs, so it needs no synchronization
+     */
+    private final SplittableRandom random;
+
+    /**
+     * @param maze     The maze to solve, only read during the run
+     * @param actor    The Actor moving in the maze
+     * @param options  The limits of the run
+     * @param pathSink The sink receiving the Actor's moves, or null to record them in a {@link CompactPath}
+     */
+    SolveContext(Maze maze, Actor actor, SolveOptions options, PathSink pathSink) {
+        this(maze, actor, options, pathSink, null);
+    }
+
+    /**
+     * @param maze           The maze to solve, only read during the run
+     * @param actor          The Actor moving in the maze
+     * @param options        The limits of the run
+     * @param pathSink       The sink receiving the Actor's moves, or null to record them in a {@link CompactPath}
+     * @param visitsPerBlock The visits per block shared with other runs, or null to count the visits of this run only
+     */
+    SolveContext(Maze maze, Actor actor, SolveOptions options, PathSink pathSink, VisitCounter visitsPerBlock) {
+        this.maze = maze;
+        this.actor = actor;
+        this.options = options;
+        this.path = pathSink == null ? new CompactPath() : null;
+        this.pathSink = pathSink == null ? path : pathSink;
+        this.startAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes();
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = options.deadlineNanos(startNanos);
+        this.seed = options.getSeed() != null ? options.getSeed() : ThreadLocalRandom.current().nextLong();
+        this.random = new SplittableRandom(seed);
+        this.visitsPerBlock = visitsPerBlock;
+
+        CancellationToken cancellationToken = options.getCancellationToken();
+        if (maze instanceof StreamingMaze && (deadlineNanos != Long.MAX_VALUE || cancellationToken != null)) {
+            ((StreamingMaze) maze).limitWaits(deadlineNanos, cancellationToken != null ? cancellationToken::isCancelled : null);
+        }
+        Coordinates start = null;
+        try {
+            start = maze.getMazeStart().getCoordinates();
+        } catch (MazeStreamWaitException ex) {
+            stopStatus = ex.isCancelled() ? SolveStatus.CANCELLED : SolveStatus.DEADLINE_EXCEEDED;
+        }
+        this.startX = start != null ? start.getX() : 0;
+        this.startY = start != null ? start.getY() : 0;
+        if (start != null) {
+            this.pathSink.start(startX, startY);
+        }
+    }
+
+    /**
+     * Runs the algorithm in this context, unless the run stopped while waiting for the start point. A wait for a streamed maze
+     * reaching the limits of the run stops it.
+     *
+     * @param algorithm The algorithm of the run
+     */
+    void run(Consumer<SolveContext> algorithm) {
+        try {
+            if (startX != 0) {
+                algorithm.accept(this);
+            }
+        } catch (MazeStreamWaitException ex) {
+            stop(ex.isCancelled() ? SolveStatus.CANCELLED : SolveStatus.DEADLINE_EXCEEDED);
+        } finally {
+            if (maze instanceof StreamingMaze) {
+                ((StreamingMaze) maze).clearWaitLimits();
+            }
+        }
+    }
+
+    public Maze getMaze() {
+        return maze;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public SolveOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Set actor's current position to the starting point of the maze
+     */
+    protected void setActorStartingPosition() {
+        actor.setCurrentPosition(maze.getMazeStart().getCoordinates());
+    }
+
+    /**
+     * @return True if the Actor stands on the end point of the maze
+     */
+    protected boolean isActorAtMazeEnd() {
+        return maze.isMazeEnd(actor.getX(), actor.getY());
+    }
+
+    /**
+     * <p>Checks the limits of the run before the next move. The step budget is checked on every call, the deadline and the
+     * cancellation token every {@code 1024} steps.</p>
+     *
+     * @return True if the Actor may make another move
+     */
+    protected boolean withinLimits() {
+        if (steps >= options.getMaxSteps()) {
+            stopStatus = SolveStatus.STEP_BUDGET_EXHAUSTED;
+            return false;
+        }
+        if (steps >= nextCheckSteps) {
+            nextCheckSteps = steps + CHECK_INTERVAL;
+            return withinDeadline();
+        }
+        return true;
+    }
+
+    /**
+     * Checks the cancellation token and the deadline of the run right away, for algorithms searching between moves
+     *
+     * @return True if the run is neither cancelled nor late
+     */
+    boolean withinDeadline() {
+        CancellationToken cancellationToken = options.getCancellationToken();
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            stopStatus = SolveStatus.CANCELLED;
+            return false;
+        } else if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0) {
+            stopStatus = SolveStatus.DEADLINE_EXCEEDED;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops the run for the given reason, for algorithms delegating the run
+     */
+    void stop(SolveStatus status) {
+        stopStatus = status;
+    }
+
+    /**
+     * Mark the block on the given coordinates
+     */
+    protected void updateVisits(int x, int y) {
+        int visits = visits().increment(maze.getCellIndex(x, y));
+        maxVisitCount = Math.max(maxVisitCount, visits);
+        if (visits > 1) {
+            revisits++;
+        }
+    }
+
+    /**
+     * Returns the number of times the block on the given coordinates has been visited
+     */
+    protected int getVisits(int x, int y) {
+        return visits().get(maze.getCellIndex(x, y));
+    }
+
+    /**
+     * The visit counter is only allocated by the algorithms marking the blocks
+     */
+    private VisitCounter visits() {
+        if (visitsPerBlock == null) {
+            visitsPerBlock = VisitCounters.forMaze(maze);
+        }
+        return visitsPerBlock;
+    }
+
+    /**
+     * <p>Returns all the next possible moves of actor. A junction reached counts as a junction decision and a block with a
+     * single exit other than the start point as a dead end backtrack, once per position of the Actor.</p>
+     *
+     * @return Direction mask of the next possible moves
+     */
+    protected int getNextPossibleMoves() {
+        int x = actor.getX(), y = actor.getY(), moves = 0;
+
+        // For each direction (NORTH, SOUTH, EAST, WEST) check block accessibility
+        for (int i = 0; i < 4; i++) {
+            Directions direction = Directions.fromOrdinal(i);
+            // If next block is accessible add the direction
+            if (maze.isAccessible(x + direction.getDx(), y + direction.getDy())) {
+                moves |= direction.bit();
+            }
+        }
+
+        if (inspectedSteps != steps) {
+            inspectedSteps = steps;
+            int exits = Integer.bitCount(moves);
+            if (exits > 2) {
+                junctionDecisions++;
+            } else if (exits == 1 && !actor.isAt(startX, startY)) {
+                // The start point has a single exit but the Actor did not arrive through it
+                deadEndBacktracks++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the neighboring block of the given direction
+     *
+     * @param direction The direction of the next neighboring block
+     * @return The neighboring block of the given direction
+     */
+    protected Block getNextBlock(Directions direction) {
+        return maze.getBlock(actor.getX() + direction.getDx(), actor.getY() + direction.getDy());
+    }
+
+    /**
+     * Randomly selects one of the next possible directions
+     *
+     * @return The next direction randomly selected, null if there is none
+     */
+    protected Directions randomlySelectNextMoveDirection() {
+        int candidates = possibleMoves;
+
+        // If already has a direction (after starting point)
+        if (previousDirection != null && (candidates & ~previousDirection.opposite().bit()) != 0)
+            // Remove the opposite direction of the current direction to avoid follow the same way back
+            candidates &= ~previousDirection.opposite().bit();
+
+        return selectRandomly(candidates);
+    }
+
+    /**
+     * Actor selects the block with the minimum number of visits. In case there is more than one blocks with minimum number of visits
+     * then selects deterministically one of those blocks based on enum Directions ordering, from the first direction of the run.
+     *
+     * @return The next direction deterministically selected from all possible next directions, null if there is none
+     */
+    protected Directions deterministicSelectNextMoveDirectionWithMinVisits() {
+        int moves = findMinimumVisitsMoves();
+        // The lowest set bit of the mask rotated to the first direction follows the enum Directions ordering
+        int rotated = (moves >>> firstDirection | moves << (4 - firstDirection)) & 0xF;
+        return moves != 0 ? Directions.fromOrdinal((Integer.numberOfTrailingZeros(rotated) + firstDirection) & 3) : null;
+    }
+
+    /**
+     * Makes the deterministic selection prefer the given direction among equally visited blocks, so that Actors starting
+     * together from the same block take different ways
+     *
+     * @param firstDirection The ordinal of the preferred direction, {@code 0} by default
+     */
+    void setFirstDirection(int firstDirection) {
+        this.firstDirection = firstDirection & 3;
+    }
+
+    /**
+     * Actor selects the block with the minimum number of visits. If there is more than one blocks with minimum number of visits
+     * then selects randomly one of those blocks.
+     *
+     * @return The next direction randomly selected from all possible next directions, null if there is none
+     */
+    protected Directions randomlySelectNextMoveDirectionWithMinVisits() {
+        return selectRandomly(findMinimumVisitsMoves());
+    }
+
+    /**
+     * For the next possible moves, calculates the minimum number of visits. If exist a block that is not yet visited then minimum number of visits is zero
+     *
+     * @return The minimum number of visits from the next accessible blocks
+     */
+    protected int findMinimumVisits() {
+        int minVisits = Integer.MAX_VALUE;
+
+        for (int moves = possibleMoves; moves != 0 && minVisits != 0; moves &= moves - 1) {
+            Directions direction = Directions.fromOrdinal(Integer.numberOfTrailingZeros(moves));
+            minVisits = Math.min(minVisits, getVisits(actor.getX() + direction.getDx(), actor.getY() + direction.getDy()));
+        }
+        return minVisits == Integer.MAX_VALUE ? 0 : minVisits;
+    }
+
+    /**
+     * For the next possible moves, keeps only those leading to a block with the minimum number of visits
+     *
+     * @return Direction mask of the least visited next moves
+     */
+    protected int findMinimumVisitsMoves() {
+        int minVisits = Integer.MAX_VALUE, minMoves = 0;
+
+        for (int moves = possibleMoves; moves != 0; moves &= moves - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(moves);
+            Directions direction = Directions.fromOrdinal(ordinal);
+            int visits = getVisits(actor.getX() + direction.getDx(), actor.getY() + direction.getDy());
+
+            if (visits < minVisits) {
+                minVisits = visits;
+                minMoves = 1 << ordinal;
+            } else if (visits == minVisits) {
+                minMoves |= 1 << ordinal;
+            }
+        }
+        return minMoves;
+    }
+
+    /**
+     * Selects uniformly one of the directions of the given mask
+     *
+     * @param moves A direction mask
+     * @return The selected direction, null if the mask is empty
+     */
+    protected Directions selectRandomly(int moves) {
+        if (moves == 0) {
+            return null;
+        }
+        // Skip a random number of set bits and take the next one
+        for (int skip = random.nextInt(Integer.bitCount(moves)); skip > 0; skip--) {
+            moves &= moves - 1;
+        }
+        return Directions.fromOrdinal(Integer.numberOfTrailingZeros(moves));
+    }
+
+    /**
+     * Moves the Actor towards the given direction and adds the new block in Actor's path
+     */
+    protected void moveActor(Directions direction) {
+        steps++;
+        actor.step(direction);
+        pathSink.step(direction, actor.getX(), actor.getY());
+    }
+
+    /**
+     * <p>Moves the Actor along a known sequence of moves in one operation: no neighbour is inspected and no block is marked.
+     * The moves are cut to the remaining step budget.</p>
+     *
+     * @param moves    Holds the sequence of moves
+     * @param from     Index of the first move of the sequence
+     * @param count    Number of moves of the sequence
+     * @param reversed Walk the sequence backwards, from its last move to its first, in opposite directions
+     */
+    protected void moveAlong(CompactPath moves, long from, long count, boolean reversed) {
+        long end = from + count;
+        count = Math.min(count, options.getMaxSteps() - steps);
+        int x = actor.getX(), y = actor.getY();
+        for (long i = 0; i < count; i++) {
+            Directions direction = reversed ? moves.getMove(end - 1 - i).opposite() : moves.getMove(from + i);
+            x += direction.getDx();
+            y += direction.getDy();
+            pathSink.step(direction, x, y);
+        }
+        steps += count;
+        actor.setCurrentPosition(x, y);
+    }
+
+    /**
+     * Notifies the path sink that the run is over
+     */
+    protected void finishPath() {
+        pathSink.finish();
+    }
+
+    /**
+     * @return Actor's path, or null if the path was streamed to a custom {@code PathSink}
+     */
+    public CompactPath getCompactPath() {
+        return path;
+    }
+
+    /**
+     * @return The seed of the random choices of the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of Actor's moves so far
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return The number of moves to a block already marked, by the algorithms marking the blocks
+     */
+    public long getRevisits() {
+        return revisits;
+    }
+
+    /**
+     * @return The number of positions inspected with more than two possible moves
+     */
+    public long getJunctionDecisions() {
+        return junctionDecisions;
+    }
+
+    /**
+     * @return The number of positions inspected with a single possible move
+     */
+    public long getDeadEndBacktracks() {
+        return deadEndBacktracks;
+    }
+
+    /**
+     * @return The most visits of a single block, by the algorithms marking the blocks
+     */
+    public int getMaxVisitCount() {
+        return maxVisitCount;
+    }
+
+    /**
+     * <p>The bytes allocated by the thread of the run, plus those of the runs it raced on other threads (see
+     * {@link PortfolioMazeSolver} and {@link CooperativeMazeSolver}) that stopped before the winner was returned.</p>
+     *
+     * <p>The JVM counts the allocations of platform threads only: on a virtual thread the allocations of the run are unknown,
+     * and raced runs on virtual threads are left out of the sum.</p>
+     *
+     * @return The bytes allocated by the run, -1 if unknown or the run is not over
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @param bytes Bytes allocated on other threads by the runs raced for this run
+     */
+    void addRacedAllocatedBytes(long bytes) {
+        racedAllocatedBytes += bytes;
+    }
+
+    /**
+     * @return The outcome of the run, to be called once the algorithm has returned
+     */
+    SolveResult toResult() {
+        if (startAllocatedBytes >= 0) {
+            allocatedBytes = AllocationCounter.currentThreadAllocatedBytes() - startAllocatedBytes + racedAllocatedBytes;
+        }
+        if (startX == 0) {
+            // Stopped before the start point was known, there is no path
+            return new SolveResult(stopStatus, maze, null, 0, System.nanoTime() - startNanos, seed);
+        }
+        return new SolveResult(isActorAtMazeEnd() ? SolveStatus.SOLVED : stopStatus, maze, path, steps,
+                System.nanoTime() - startNanos, seed);
+    }
+}
@@ -0,0 +1,183 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * <p>Limits of a single solver run: a maximum number of Actor's moves, a wall-clock deadline and a cancellation token.
+ * Whichever limit is reached first stops the run, see {@link SolveResult#getStatus()}.</p>
+ *
+ * <p>The seed drives the random choices of the run. Runs of the same solver with the same seed on the same maze make the
+ * same moves. Without a seed every run draws its own, see {@link SolveResult#getSeed()}.</p>
+ *
+ * <pre>
+ *     SolveOptions options = SolveOptions.builder().maxSteps(1_000_000).timeout(Duration.ofSeconds(2)).build();
+ * </pre>
+ */
+public class SolveOptions {
+
+    /**
+     * No limits, the solver runs until the end point is reached
+     */
+    public static final SolveOptions UNBOUNDED = builder().build();
+
+    private final long maxSteps;
+
+    private final Duration timeout;
+
+    private final Instant deadline;
+
+    private final CancellationToken cancellationToken;
+
+    private final Long seed;
+
+    private SolveOptions(Builder builder) {
+        this.maxSteps = builder.maxSteps;
+        this.timeout = builder.timeout;
+        this.deadline = builder.deadline;
+        this.cancellationToken = builder.cancellationToken;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * @return The seed of the run, null if every run draws its own
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param cancellationToken The token replacing the cancellation token of these options
+     * @return Options with the same limits and the given token
+     */
+    public SolveOptions withCancellationToken(CancellationToken cancellationToken) {
+        Builder builder = toBuilder();
+        builder.cancellationToken = cancellationToken;
+        return builder.build();
+    }
+
+    /**
+     * @param seed The seed replacing the seed of these options
+     * @return Options with the same limits and the given seed
+     */
+    public SolveOptions withSeed(long seed) {
+        return toBuilder().seed(seed).build();
+    }
+
+    private Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.maxSteps = maxSteps;
+        builder.timeout = timeout;
+        builder.deadline = deadline;
+        builder.cancellationToken = cancellationToken;
+        builder.seed = seed;
+        return builder;
+    }
+
+    /**
+     * Returns the {@code System.nanoTime()} value after which a run started at {@code startNanos} must stop
+     *
+     * @param startNanos The {@code System.nanoTime()} at the start of the run
+     * @return The deadline in {@code System.nanoTime()} units, {@code Long.MAX_VALUE} if there is no deadline
+     */
+    long deadlineNanos(long startNanos) {
+        long remaining = Long.MAX_VALUE;
+        if (timeout != null) {
+            remaining = saturatedNanos(timeout);
+        }
+        if (deadline != null) {
+            remaining = Math.min(remaining, saturatedNanos(Duration.between(Instant.now(), deadline)));
+        }
+        if (remaining == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        long deadlineNanos = startNanos + remaining;
+        // Overflow of a far deadline
+        return remaining > 0 && deadlineNanos < startNanos ? Long.MAX_VALUE : deadlineNanos;
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException ex) {
+            return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE;
+        }
+    }
+
+    public static class Builder {
+
+        private long maxSteps = Long.MAX_VALUE;
+
+        private Duration timeout;
+
+        private Instant deadline;
+
+        private CancellationToken cancellationToken;
+
+        private Long seed;
+
+        /**
+         * @param maxSteps The maximum number of Actor's moves
+         */
+        public Builder maxSteps(long maxSteps) {
+            if (maxSteps < 0) {
+                throw new IllegalArgumentException("Negative step budget: " + maxSteps);
+            }
+            this.maxSteps = maxSteps;
+            return this;
+        }
+
+        /**
+         * @param timeout The maximum duration of the run, counted from its start
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param deadline The wall-clock instant the run must stop at
+         */
+        public Builder deadline(Instant deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder cancellationToken(CancellationToken cancellationToken) {
+            this.cancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * @param seed The seed of the random choices of the run
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SolveOptions build() {
+            return new SolveOptions(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a solver run: why it stopped, the Actor's path so far (complete when solved) and run statistics.
+ */
+public class SolveResult {
+
+    private final SolveStatus status;
+
+    private final Maze maze;
+
+    private final CompactPath path;
+
+    private final long steps;
+
+    private final long elapsedNanos;
+
+    private final long seed;
+
+    public SolveResult(SolveStatus status, Maze maze, CompactPath path, long steps, long elapsedNanos, long seed) {
+        this.status = status;
+        this.maze = maze;
+        this.path = path;
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+        this.seed = seed;
+    }
+
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    public boolean isSolved() {
+        return status == SolveStatus.SOLVED;
+    }
+
+    /**
+     * @return The solved maze, null for a result served from a cache without building the maze
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * @return The Actor's path, partial unless solved. Null if the path was streamed to a custom {@code PathSink}
+     */
+    public CompactPath getCompactPath() {
+        return path;
+    }
+
+    /**
+     * @return The Actor's path as blocks decoded on access, empty if the path was streamed to a custom {@code PathSink}
+     * @throws IllegalStateException If the result holds no maze to read the blocks from, see {@link #getMaze()}
+     */
+    public List<Block> getPath() {
+        if (path != null && maze == null) {
+            throw new IllegalStateException("No maze to decode the path, use getCompactPath()");
+        }
+        return path != null ? path.asBlockList(maze) : Collections.emptyList();
+    }
+
+    /**
+     * @return The number of Actor's moves
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return The seed of the run, passing it to {@link SolveOptions.Builder#seed(long)} replays the run
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return status + " after " + steps + " steps in " + elapsedNanos / 1_000_000 + " ms";
+    }
+}
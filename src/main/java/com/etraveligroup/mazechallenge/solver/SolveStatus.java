@@ -0,0 +1,12 @@
+package com.etraveligroup.mazechallenge.solver;
+
+public enum SolveStatus {
+    SOLVED,
+    STEP_BUDGET_EXHAUSTED,
+    DEADLINE_EXCEEDED,
+    CANCELLED,
+    /**
+     * The algorithm proved that the end point cannot be reached from the start point
+     */
+    UNREACHABLE
+}
@@ -0,0 +1,116 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.metrics.AllocationCounter;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Races several runs on the same maze in parallel and returns the first one reaching the end point. The runs share a
+ * {@link CancellationToken}, cancelled as soon as a run reaches the end point: the others stop within {@code 1024} steps.</p>
+ *
+ * <p>With a seed in the options every run gets its own seed derived from it, so that runs of the same algorithm make
+ * different choices and the race is reproducible.</p>
+ *
+ * <p>The bytes allocated by the runs on other threads are added to the run racing them, as far as the runs stopped before
+ * the race is over.</p>
+ */
+final class SolverRace {
+
+    /**
+     * One of the runs of a race
+     */
+    interface Runner {
+
+        /**
+         * @param index   The index of the run, from {@code 0}
+         * @param options The limits of the run, with the token of the race and the seed of the run
+         * @return The outcome of the run
+         */
+        SolveResult run(int index, SolveOptions options);
+    }
+
+    private SolverRace() {
+    }
+
+    /**
+     * <p>Runs all the runners and returns the result of the first one reaching the end point. If no run reaches it within the
+     * limits of the options, the result of the last run to stop is returned. A failed run does not stop the others, its
+     * exception is thrown only if every run failed.</p>
+     *
+     * @param executor Runs the runners, should have a thread per run to race them all
+     * @param context  The run racing the runs: its maze and its limits for every run, cancelling its token cancels all the
+     *                 runs. The bytes allocated by the runs are added to it
+     * @param runs     The number of runs
+     * @param runner   Starts a run
+     * @return The result of the winning run, {@link SolveStatus#CANCELLED} without a path if interrupted
+     */
+    static SolveResult race(ExecutorService executor, SolveContext context, int runs, Runner runner) {
+        long startNanos = System.nanoTime();
+        Maze maze = context.getMaze();
+        SolveOptions options = context.getOptions();
+        Thread caller = Thread.currentThread();
+        AtomicLong allocatedBytes = new AtomicLong();
+        CancellationToken raceToken = new CancellationToken(options.getCancellationToken());
+        SolveOptions raceOptions = options.withCancellationToken(raceToken);
+        SplittableRandom seeds = options.getSeed() != null ? new SplittableRandom(options.getSeed()) : null;
+
+        CompletionService<SolveResult> race = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < runs; i++) {
+            int index = i;
+            SolveOptions runOptions = seeds != null ? raceOptions.withSeed(seeds.nextLong()) : raceOptions;
+            race.submit(() -> {
+                long startAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes();
+                SolveResult result;
+                try {
+                    result = runner.run(index, runOptions);
+                } finally {
+                    // Runs on the thread of the caller are already counted by its context
+                    if (startAllocatedBytes >= 0 && Thread.currentThread() != caller) {
+                        allocatedBytes.addAndGet(AllocationCounter.currentThreadAllocatedBytes() - startAllocatedBytes);
+                    }
+                }
+                if (result.isSolved()) {
+                    // Stop the other runs as soon as possible
+                    raceToken.cancel();
+                }
+                return result;
+            });
+        }
+
+        SolveResult result = null;
+        RuntimeException failure = null;
+        try {
+            for (int i = 0; i < runs; i++) {
+                try {
+                    result = race.take().get();
+                    if (result.isSolved()) {
+                        return result;
+                    }
+                } catch (ExecutionException ex) {
+                    // A failed run does not stop the others
+                    failure = ex.getCause() instanceof RuntimeException
+                            ? (RuntimeException) ex.getCause() : new IllegalStateException(ex.getCause());
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new SolveResult(SolveStatus.CANCELLED, maze, null, 0, System.nanoTime() - startNanos,
+                    options.getSeed() != null ? options.getSeed() : 0);
+        } finally {
+            // Stop the runs still running
+            raceToken.cancel();
+            context.addRacedAllocatedBytes(allocatedBytes.get());
+        }
+
+        if (result == null) {
+            throw failure;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.etraveligroup.mazechallenge.solver;
+
+import java.util.function.LongToIntFunction;
+
+/**
+ * <p>The rules of <i>Trémaux's algorithm</i> at a junction. Marks are counted per passage of the junction, a passage being
+ * identified by {@code junction << 2 | direction ordinal}. At a junction the Actor</p>
+ * <p>1.) goes back if he arrived through a passage marked once at a junction visited before,</p>
+ * <p>2.) otherwise takes an unmarked passage,</p>
+ * <p>3.) otherwise goes back if the passage he arrived through is marked once,</p>
+ * <p>4.) otherwise takes a passage marked once.</p>
+ * <p>A passage is never taken a third time. When no passage is left at the start point the end point is unreachable.</p>
+ */
+final class TremauxRules {
+
+    private TremauxRules() {
+    }
+
+    static long passage(long junction, int direction) {
+        return junction << 2 | direction;
+    }
+
+    /**
+     * Selects the passage to take
+     *
+     * @param context        The state of the run, for random choices
+     * @param marks          The marks of a passage, including the marks of the arrival
+     * @param junction       The junction the Actor stands on
+     * @param moves          Direction mask of the passages of the junction
+     * @param arrival        Ordinal of the direction of the passage the Actor arrived through, -1 at the start point
+     * @param withRandomness Solve ambiguous choices randomly or deterministically (based on the enum Directions ordering)
+     * @return The ordinal of the direction of the selected passage, -1 if no passage may be taken
+     */
+    static int select(SolveContext context, LongToIntFunction marks, long junction, int moves, int arrival, boolean withRandomness) {
+        int arrivalBit = arrival >= 0 ? 1 << arrival : 0;
+        int unmarked = 0, markedOnce = 0;
+        for (int remaining = moves & ~arrivalBit; remaining != 0; remaining &= remaining - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(remaining);
+            int passageMarks = marks.applyAsInt(passage(junction, ordinal));
+            if (passageMarks == 0) {
+                unmarked |= 1 << ordinal;
+            } else if (passageMarks == 1) {
+                markedOnce |= 1 << ordinal;
+            }
+        }
+        int arrivalMarks = arrival >= 0 ? marks.applyAsInt(passage(junction, arrival)) : 2;
+        boolean visitedBefore = (moves & ~unmarked & ~arrivalBit) != 0;
+
+        if (arrivalMarks == 1 && visitedBefore) {
+            return arrival;
+        } else if (unmarked != 0) {
+            return select(context, unmarked, withRandomness);
+        } else if (arrivalMarks == 1) {
+            return arrival;
+        } else if (markedOnce != 0) {
+            return select(context, markedOnce, withRandomness);
+        }
+        return -1;
+    }
+
+    private static int select(SolveContext context, int moves, boolean withRandomness) {
+        return withRandomness ? context.selectRandomly(moves).ordinal() : Integer.numberOfTrailingZeros(moves);
+    }
+}
@@ -0,0 +1,35 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * <p>Bytes allocated by the current thread, from the allocation counter of the JVM ({@code com.sun.management.ThreadMXBean}).
+ * Where the counter is not supported or disabled every call returns {@code -1}, as it does on a virtual thread: the JVM
+ * counts the allocations of platform threads only.</p>
+ */
+public final class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private AllocationCounter() {
+    }
+
+    /**
+     * @return The bytes allocated by the current thread since it started, -1 if unknown
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads;
+            }
+        }
+        return null;
+    }
+}
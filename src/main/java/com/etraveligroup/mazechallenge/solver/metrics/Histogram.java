@@ -0,0 +1,68 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Lock-free histogram of non negative values with power of two buckets: bucket {@code 0} counts the value zero, bucket
+ * {@code i} the values from {@code 2^(i-1)} to {@code 2^i - 1}. Recording a value does not allocate, percentiles are known within
+ * a factor of two.</p>
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value The value to record, negative values are recorded as zero
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return The values recorded so far. Values recorded during the call may be partly included
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new HistogramSnapshot(counts, count.sum(), sum.sum(), max.get());
+    }
+
+    /**
+     * Forgets all the values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucket(long value) {
+        return Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+    }
+
+    /**
+     * @return The greatest value of the bucket
+     */
+    static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
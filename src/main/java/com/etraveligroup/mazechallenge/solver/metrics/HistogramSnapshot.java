@@ -0,0 +1,68 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+/**
+ * Values of a {@link Histogram} at a point in time: count, sum, maximum, mean and percentiles
+ */
+public class HistogramSnapshot {
+
+    private final long[] buckets;
+
+    private final long count;
+
+    private final long sum;
+
+    private final long max;
+
+    HistogramSnapshot(long[] buckets, long count, long sum, long max) {
+        this.buckets = buckets;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    /**
+     * Nearest-rank percentile, rounded up to the greatest value of its bucket
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return A value greater than or equal to the given percentage of the values, never more than the maximum
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        long total = 0;
+        for (long bucketCount : buckets) {
+            total += bucketCount;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * total), 1), seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(Histogram.upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%d p90=%d p99=%d max=%d mean=%.1f",
+                count, getPercentile(50), getPercentile(90), getPercentile(99), max, getMean());
+    }
+}
@@ -0,0 +1,98 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+/**
+ * The metrics of a solver at a point in time, see {@link SolverMetrics#snapshot()}
+ */
+public class MetricsSnapshot {
+
+    private final long runs;
+
+    private final long solvedRuns;
+
+    private final long revisits;
+
+    private final long junctionDecisions;
+
+    private final long deadEndBacktracks;
+
+    private final int maxVisitCount;
+
+    private final HistogramSnapshot steps;
+
+    private final HistogramSnapshot latencyNanos;
+
+    private final HistogramSnapshot allocatedBytes;
+
+    MetricsSnapshot(long runs, long solvedRuns, long revisits, long junctionDecisions, long deadEndBacktracks, int maxVisitCount,
+                    HistogramSnapshot steps, HistogramSnapshot latencyNanos, HistogramSnapshot allocatedBytes) {
+        this.runs = runs;
+        this.solvedRuns = solvedRuns;
+        this.revisits = revisits;
+        this.junctionDecisions = junctionDecisions;
+        this.deadEndBacktracks = deadEndBacktracks;
+        this.maxVisitCount = maxVisitCount;
+        this.steps = steps;
+        this.latencyNanos = latencyNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getSolvedRuns() {
+        return solvedRuns;
+    }
+
+    /**
+     * @return Moves to an already marked block, counted by the algorithms marking the blocks
+     */
+    public long getRevisits() {
+        return revisits;
+    }
+
+    /**
+     * @return Positions inspected with more than two possible moves
+     */
+    public long getJunctionDecisions() {
+        return junctionDecisions;
+    }
+
+    /**
+     * @return Positions inspected with a single possible move, the way back
+     */
+    public long getDeadEndBacktracks() {
+        return deadEndBacktracks;
+    }
+
+    /**
+     * @return The most visits of a single block in a run
+     */
+    public int getMaxVisitCount() {
+        return maxVisitCount;
+    }
+
+    public HistogramSnapshot getSteps() {
+        return steps;
+    }
+
+    public HistogramSnapshot getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return Bytes allocated by the runs, including the runs they raced on other threads (see
+     * {@link com.etraveligroup.mazechallenge.solver.SolveContext#getAllocatedBytes()}). Empty where the JVM does not count allocations per thread, the runs on
+     * virtual threads are not recorded
+     */
+    public HistogramSnapshot getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "runs=" + runs + " solved=" + solvedRuns + " revisits=" + revisits + " junctions=" + junctionDecisions
+                + " deadEnds=" + deadEndBacktracks + " maxVisits=" + maxVisitCount + " steps[" + steps + "] latencyNanos["
+                + latencyNanos + "] allocatedBytes[" + allocatedBytes + "]";
+    }
+}
@@ -0,0 +1,191 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+import com.etraveligroup.mazechallenge.solver.SolveContext;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Aggregated metrics of all the runs of a solver: counters of the Actor's behaviour (revisits, junction decisions, dead end
+ * backtracks, most visits of a block) and histograms of the steps, the latency and the bytes allocated per run. Every
+ * {@link com.etraveligroup.mazechallenge.solver.MazeSolver} records its runs in its own instance.</p>
+ *
+ * <p>A run counts its events in plain fields of its {@link SolveContext} and adds them here once it is over, so the solver
+ * loops pay no synchronization. Recording is lock-free and may happen from many threads at the same time.</p>
+ *
+ * <pre>
+ *     solver.getMetrics().register("markThePath");   // com.etraveligroup.mazechallenge:type=SolverMetrics,name=markThePath
+ *     MetricsSnapshot snapshot = solver.getMetrics().snapshot();
+ * </pre>
+ */
+public class SolverMetrics implements SolverMetricsMXBean {
+
+    private final LongAdder runs = new LongAdder();
+
+    private final LongAdder solvedRuns = new LongAdder();
+
+    private final LongAdder revisits = new LongAdder();
+
+    private final LongAdder junctionDecisions = new LongAdder();
+
+    private final LongAdder deadEndBacktracks = new LongAdder();
+
+    private final LongAccumulator maxVisitCount = new LongAccumulator(Math::max, 0);
+
+    private final Histogram steps = new Histogram();
+
+    private final Histogram latencyNanos = new Histogram();
+
+    private final Histogram allocatedBytes = new Histogram();
+
+    /**
+     * Adds a finished run
+     *
+     * @param context The state of the run
+     * @param result  The outcome of the run
+     */
+    public void record(SolveContext context, SolveResult result) {
+        runs.increment();
+        if (result.isSolved()) {
+            solvedRuns.increment();
+        }
+        revisits.add(context.getRevisits());
+        junctionDecisions.add(context.getJunctionDecisions());
+        deadEndBacktracks.add(context.getDeadEndBacktracks());
+        maxVisitCount.accumulate(context.getMaxVisitCount());
+        steps.record(result.getSteps());
+        latencyNanos.record(result.getElapsedNanos());
+        if (context.getAllocatedBytes() >= 0) {
+            allocatedBytes.record(context.getAllocatedBytes());
+        }
+    }
+
+    /**
+     * @return The metrics of the runs recorded so far
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(runs.sum(), solvedRuns.sum(), revisits.sum(), junctionDecisions.sum(),
+                deadEndBacktracks.sum(), getMaxVisitCount(), steps.snapshot(), latencyNanos.snapshot(), allocatedBytes.snapshot());
+    }
+
+    /**
+     * <p>Exposes the metrics in the platform MBean server with the name
+     * {@code com.etraveligroup.mazechallenge:type=SolverMetrics,name=<name>}.</p>
+     *
+     * @param name The name of the solver, quoted when it is not a valid JMX value
+     * @return The name of the registered MBean, for {@link #unregister(ObjectName)}
+     * @throws JMException If the name is already registered
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.etraveligroup.mazechallenge:type=SolverMetrics,name=" + quoteIfNeeded(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Removes the metrics registered with {@link #register(String)} from the platform MBean server
+     */
+    public static void unregister(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    @Override
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    @Override
+    public long getSolvedRuns() {
+        return solvedRuns.sum();
+    }
+
+    @Override
+    public long getSteps() {
+        return steps.snapshot().getSum();
+    }
+
+    @Override
+    public long getRevisits() {
+        return revisits.sum();
+    }
+
+    @Override
+    public long getJunctionDecisions() {
+        return junctionDecisions.sum();
+    }
+
+    @Override
+    public long getDeadEndBacktracks() {
+        return deadEndBacktracks.sum();
+    }
+
+    @Override
+    public int getMaxVisitCount() {
+        return (int) maxVisitCount.get();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.snapshot().getSum();
+    }
+
+    @Override
+    public double getMeanLatencyNanos() {
+        return latencyNanos.snapshot().getMean();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencyNanos.snapshot().getPercentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencyNanos.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+        return latencyNanos.snapshot().getMax();
+    }
+
+    @Override
+    public long getStepsP50() {
+        return steps.snapshot().getPercentile(50);
+    }
+
+    @Override
+    public long getStepsP99() {
+        return steps.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public long getAllocatedBytesP99() {
+        return allocatedBytes.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public void reset() {
+        runs.reset();
+        solvedRuns.reset();
+        revisits.reset();
+        junctionDecisions.reset();
+        deadEndBacktracks.reset();
+        maxVisitCount.reset();
+        steps.reset();
+        latencyNanos.reset();
+        allocatedBytes.reset();
+    }
+
+    private static String quoteIfNeeded(String name) {
+        try {
+            return new ObjectName("d:name=" + name).isPattern() ? ObjectName.quote(name) : name;
+        } catch (JMException ex) {
+            return ObjectName.quote(name);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.etraveligroup.mazechallenge.solver.metrics;
+
+/**
+ * <p>Management interface of {@link SolverMetrics}, see {@link SolverMetrics#register(String)}. Counters are totals over all the
+ * runs since the last {@link #reset()}, latencies are in nanoseconds.</p>
+ */
+public interface SolverMetricsMXBean {
+
+    long getRuns();
+
+    long getSolvedRuns();
+
+    long getSteps();
+
+    long getRevisits();
+
+    long getJunctionDecisions();
+
+    long getDeadEndBacktracks();
+
+    int getMaxVisitCount();
+
+    long getAllocatedBytes();
+
+    double getMeanLatencyNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getMaxLatencyNanos();
+
+    long getStepsP50();
+
+    long getStepsP99();
+
+    long getAllocatedBytesP99();
+
+    void reset();
+}
@@ -0,0 +1,64 @@
+package com.etraveligroup.mazechallenge.solver.montecarlo;
+
+import java.util.Arrays;
+
+/**
+ * Summary of the values of a sample: minimum, maximum, mean and percentiles
+ */
+public class Distribution {
+
+    private final long[] sortedValues;
+
+    private final double mean;
+
+    /**
+     * @param values The values of the sample, the array is sorted in place and kept
+     */
+    Distribution(long[] values) {
+        Arrays.sort(values);
+        this.sortedValues = values;
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        this.mean = values.length == 0 ? Double.NaN : sum / values.length;
+    }
+
+    public int getCount() {
+        return sortedValues.length;
+    }
+
+    public long getMin() {
+        return sortedValues.length == 0 ? 0 : sortedValues[0];
+    }
+
+    public long getMax() {
+        return sortedValues.length == 0 ? 0 : sortedValues[sortedValues.length - 1];
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Nearest-rank percentile
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The smallest value greater than or equal to the given percentage of the values
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        } else if (sortedValues.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedValues.length);
+        return sortedValues[Math.max(rank - 1, 0)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("min=%d p50=%d p90=%d p99=%d max=%d mean=%.1f",
+                getMin(), getPercentile(50), getPercentile(90), getPercentile(99), getMax(), mean);
+    }
+}
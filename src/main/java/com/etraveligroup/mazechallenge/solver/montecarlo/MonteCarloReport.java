@@ -0,0 +1,66 @@
+package com.etraveligroup.mazechallenge.solver.montecarlo;
+
+/**
+ * Outcome of a {@link MonteCarloRunner} experiment: the distributions of the path lengths, the steps and the durations of the runs.
+ * The distributions only cover the solved runs.
+ */
+public class MonteCarloReport {
+
+    private final int runs;
+
+    private final long baseSeed;
+
+    private final Distribution pathLengths;
+
+    private final Distribution steps;
+
+    private final Distribution elapsedNanos;
+
+    MonteCarloReport(int runs, long baseSeed, Distribution pathLengths, Distribution steps, Distribution elapsedNanos) {
+        this.runs = runs;
+        this.baseSeed = baseSeed;
+        this.pathLengths = pathLengths;
+        this.steps = steps;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return The seed the seeds of all the runs are derived from, replays the experiment
+     */
+    public long getBaseSeed() {
+        return baseSeed;
+    }
+
+    public int getSolvedRuns() {
+        return steps.getCount();
+    }
+
+    /**
+     * @return The number of blocks of the solved paths with their loops erased
+     */
+    public Distribution getPathLengths() {
+        return pathLengths;
+    }
+
+    /**
+     * @return The number of Actor's moves of the solved runs
+     */
+    public Distribution getSteps() {
+        return steps;
+    }
+
+    public Distribution getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getSolvedRuns() + "/" + runs + " solved (seed " + baseSeed + ")" + System.lineSeparator()
+                + "path length: " + pathLengths + System.lineSeparator()
+                + "steps:       " + steps;
+    }
+}
@@ -0,0 +1,168 @@
+package com.etraveligroup.mazechallenge.solver.montecarlo;
+
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Runs a randomized solver many times on the same maze in parallel, each run with its own seed, and reports the
+ * distribution of the path lengths and steps. The path length of a run is the length of its path with the loops erased: the
+ * simple path from the start point to the end point the run found, however long it walked to find it. The seeds of the runs are derived from a base seed, so an experiment and every
+ * single run of it can be replayed.</p>
+ *
+ * <pre>
+ *     MonteCarloReport report = new MonteCarloRunner(new MarkThePathMazeSolver(true), ForkJoinPool.commonPool())
+ *             .run(maze, 10_000, 42L, SolveOptions.UNBOUNDED);
+ * </pre>
+ */
+public class MonteCarloRunner {
+
+    private final MazeSolver solver;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloRunner(MazeSolver solver, ForkJoinPool pool) {
+        this.solver = solver;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the seed of every run of an experiment
+     *
+     * @param runs     The number of runs
+     * @param baseSeed The seed of the experiment
+     * @return The seed of run {@code i} at index {@code i}
+     */
+    public static long[] seeds(int runs, long baseSeed) {
+        SplittableRandom random = new SplittableRandom(baseSeed);
+        long[] seeds = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            seeds[i] = random.nextLong();
+        }
+        return seeds;
+    }
+
+    /**
+     * Solves the maze {@code runs} times in parallel
+     *
+     * @param maze     The maze to solve
+     * @param runs     The number of runs
+     * @param baseSeed The seed of the experiment
+     * @param options  The limits of every run, the seed of the options is ignored
+     * @return The distributions of the solved runs
+     */
+    public MonteCarloReport run(Maze maze, int runs, long baseSeed, SolveOptions options) {
+        long[] seeds = seeds(runs, baseSeed);
+        long[] pathLengths = new long[runs], steps = new long[runs], elapsedNanos = new long[runs];
+        boolean[] solved = new boolean[runs];
+
+        pool.invoke(new Runs(maze, options, seeds, 0, runs, pathLengths, steps, elapsedNanos, solved));
+
+        // Keep the solved runs only
+        int count = 0;
+        for (int i = 0; i < runs; i++) {
+            if (solved[i]) {
+                pathLengths[count] = pathLengths[i];
+                steps[count] = steps[i];
+                elapsedNanos[count] = elapsedNanos[i];
+                count++;
+            }
+        }
+        return new MonteCarloReport(runs, baseSeed, new Distribution(Arrays.copyOf(pathLengths, count)),
+                new Distribution(Arrays.copyOf(steps, count)), new Distribution(Arrays.copyOf(elapsedNanos, count)));
+    }
+
+    /**
+     * <p>Erases the loops of a path in the order they are closed: when the path comes back to a block, the blocks since its last
+     * passage are removed. Holds the blocks of the simple path and their positions.</p>
+     *
+     * @param maze The maze of the path
+     * @param path The Actor's path
+     * @return The number of blocks of the path without its loops
+     */
+    static long loopErasedLength(Maze maze, CompactPath path) {
+        LongIntHashMap positions = new LongIntHashMap(1 << 10, -1);
+        long[] cells = new long[1 << 10];
+        int length = 0;
+        for (Coordinates block : path) {
+            long cell = maze.getCellIndex(block.getX(), block.getY());
+            int position = positions.get(cell);
+            if (position >= 0 && position < length && cells[position] == cell) {
+                // Back on a block of the simple path, erase the loop
+                length = position + 1;
+                continue;
+            }
+            if (length == cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[length] = cell;
+            positions.put(cell, length++);
+        }
+        return length;
+    }
+
+    /**
+     * Runs of the range [from, to), split in halves down to single runs. Every run keeps only its statistics, not its path.
+     */
+    private class Runs extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Maze maze;
+
+        private final SolveOptions options;
+
+        private final long[] seeds;
+
+        private final int from;
+
+        private final int to;
+
+        private final long[] pathLengths;
+
+        private final long[] steps;
+
+        private final long[] elapsedNanos;
+
+        private final boolean[] solved;
+
+        Runs(Maze maze, SolveOptions options, long[] seeds, int from, int to,
+             long[] pathLengths, long[] steps, long[] elapsedNanos, boolean[] solved) {
+            this.maze = maze;
+            this.options = options;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+            this.pathLengths = pathLengths;
+            this.steps = steps;
+            this.elapsedNanos = elapsedNanos;
+            this.solved = solved;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Runs(maze, options, seeds, from, middle, pathLengths, steps, elapsedNanos, solved),
+                        new Runs(maze, options, seeds, middle, to, pathLengths, steps, elapsedNanos, solved));
+            } else if (to > from) {
+                SolveResult result = solver.solve(maze, options.withSeed(seeds[from]));
+                CompactPath path = result.getCompactPath();
+                // Only the solved runs are reported, the path of the others may be missing
+                pathLengths[from] = result.isSolved() && path != null ? loopErasedLength(maze, path) : 0;
+                steps[from] = result.getSteps();
+                elapsedNanos[from] = result.getElapsedNanos();
+                solved[from] = result.isSolved();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.etraveligroup.mazechallenge.solver.path;
+
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Actor's path stored as its starting block plus 2 bits per move (the ordinal of the {@link Directions}),
+ * 32 moves per {@code long}.</p>
+ *
+ * <p>Blocks are decoded lazily while iterating, see {@link #iterator()} and {@link #asBlockList(Maze)}.</p>
+ */
+public class CompactPath implements PathSink, Iterable<Coordinates> {
+
+    private static final int MOVES_PER_WORD = 32;
+
+    /**
+     * Words allocated before any is read, the array then grows with the words read
+     */
+    private static final int READ_CHUNK_WORDS = 1 << 13;
+
+    private int startX;
+
+    private int startY;
+
+    private long[] moves = new long[4];
+
+    private long moveCount;
+
+    public CompactPath() {
+    }
+
+    public CompactPath(int startX, int startY) {
+        start(startX, startY);
+    }
+
+    @Override
+    public void start(int x, int y) {
+        startX = x;
+        startY = y;
+        moveCount = 0;
+    }
+
+    @Override
+    public void step(Directions direction, int x, int y) {
+        append(direction);
+    }
+
+    public void append(Directions direction) {
+        int word = (int) (moveCount / MOVES_PER_WORD);
+        if (word == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        int shift = (int) (moveCount % MOVES_PER_WORD) * 2;
+        moves[word] = moves[word] & ~(3L << shift) | (long) direction.ordinal() << shift;
+        moveCount++;
+    }
+
+    /**
+     * @param index The index of the move, from 0 to {@code getMoveCount() - 1}
+     * @return The direction of the move
+     */
+    public Directions getMove(long index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + moveCount);
+        }
+        return Directions.fromOrdinal((int) (moves[(int) (index / MOVES_PER_WORD)] >>> (index % MOVES_PER_WORD) * 2) & 3);
+    }
+
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return The number of blocks of the path, including the starting block
+     */
+    public long size() {
+        return moveCount + 1;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * @return The last block of the path
+     */
+    public Coordinates getEnd() {
+        int x = startX, y = startY;
+        for (long i = 0; i < moveCount; i++) {
+            Directions direction = getMove(i);
+            x += direction.getDx();
+            y += direction.getDy();
+        }
+        return new Coordinates(x, y);
+    }
+
+    /**
+     * @return The approximate number of bytes held by the path
+     */
+    public long memorySize() {
+        return 48L + (long) moves.length * Long.BYTES;
+    }
+
+    /**
+     * Writes the starting block and the packed moves, see {@link #readFrom(DataInput)}
+     */
+    public void writeTo(DataOutput output) throws IOException {
+        output.writeInt(startX);
+        output.writeInt(startY);
+        output.writeLong(moveCount);
+        for (int i = 0, words = words(moveCount); i < words; i++) {
+            output.writeLong(moves[i]);
+        }
+    }
+
+    /**
+     * <p>Reads a path written by {@link #writeTo(DataOutput)}. The move count is not trusted: the moves are read into an array
+     * growing with the words actually read, so a corrupt count fails with an {@link java.io.EOFException} at the end of the
+     * input instead of allocating the memory it claims.</p>
+     */
+    public static CompactPath readFrom(DataInput input) throws IOException {
+        CompactPath path = new CompactPath(input.readInt(), input.readInt());
+        long moveCount = input.readLong();
+        if (moveCount < 0 || moveCount > (long) Integer.MAX_VALUE * MOVES_PER_WORD) {
+            throw new IOException("Illegal move count: " + moveCount);
+        }
+        int words = words(moveCount);
+        long[] moves = new long[Math.max(Math.min(words, READ_CHUNK_WORDS), 1)];
+        for (int i = 0; i < words; i++) {
+            if (i == moves.length) {
+                moves = Arrays.copyOf(moves, (int) Math.min(words, (long) moves.length * 2));
+            }
+            moves[i] = input.readLong();
+        }
+        path.moves = moves;
+        path.moveCount = moveCount;
+        return path;
+    }
+
+    private static int words(long moveCount) {
+        return (int) ((moveCount + MOVES_PER_WORD - 1) / MOVES_PER_WORD);
+    }
+
+    /**
+     * Replays the path to another sink
+     */
+    public void replay(PathSink sink) {
+        int x = startX, y = startY;
+        sink.start(x, y);
+        for (long i = 0; i < moveCount; i++) {
+            Directions direction = getMove(i);
+            x += direction.getDx();
+            y += direction.getDy();
+            sink.step(direction, x, y);
+        }
+        sink.finish();
+    }
+
+    /**
+     * Iterates the coordinates of the blocks of the path, starting block included
+     */
+    @Override
+    public Iterator<Coordinates> iterator() {
+        return new Iterator<Coordinates>() {
+            private long next = -1;
+            private int x = startX, y = startY;
+
+            @Override
+            public boolean hasNext() {
+                return next < moveCount;
+            }
+
+            @Override
+            public Coordinates next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (next >= 0) {
+                    Directions direction = getMove(next);
+                    x += direction.getDx();
+                    y += direction.getDy();
+                }
+                next++;
+                return new Coordinates(x, y);
+            }
+        };
+    }
+
+    /**
+     * <p>Returns a read-only {@code List<Block>} view of the path, with block types read from the given maze.</p>
+     *
+     * <p>Blocks are decoded on access. Sequential access (iteration, or {@code get} with growing indexes) costs one move per block,
+     * random access walks from the closest previously decoded block.</p>
+     *
+     * @param maze The maze the path belongs to
+     * @return The path as a list of blocks
+     */
+    public List<Block> asBlockList(Maze maze) {
+        if (moveCount + 1 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Path of " + (moveCount + 1) + " blocks does not fit in a List");
+        }
+        return new AbstractList<Block>() {
+            private long cursor = 0;
+            private int cursorX = startX, cursorY = startY;
+
+            @Override
+            public Block get(int index) {
+                if (index < 0 || index > moveCount) {
+                    throw new IndexOutOfBoundsException("Block " + index + " of " + size());
+                }
+                if (index < cursor) {
+                    cursor = 0;
+                    cursorX = startX;
+                    cursorY = startY;
+                }
+                for (; cursor < index; cursor++) {
+                    Directions direction = getMove(cursor);
+                    cursorX += direction.getDx();
+                    cursorY += direction.getDy();
+                }
+                return maze.getBlock(cursorX, cursorY);
+            }
+
+            @Override
+            public int size() {
+                return (int) (moveCount + 1);
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.etraveligroup.mazechallenge.solver.path;
+
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+
+/**
+ * <p>Receives the Actor's path while a solver runs, one move at a time.</p>
+ *
+ * <p>{@link #start(int, int)} is called once with the starting block, then {@link #step(Directions, int, int)} for every move
+ * and finally {@link #finish()} when the solver stops.</p>
+ */
+public interface PathSink {
+
+    void start(int x, int y);
+
+    /**
+     * @param direction The direction of the move
+     * @param x         The row of the block reached
+     * @param y         The column of the block reached
+     */
+    void step(Directions direction, int x, int y);
+
+    default void finish() {
+    }
+}
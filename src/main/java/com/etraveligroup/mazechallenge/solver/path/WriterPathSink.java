@@ -0,0 +1,56 @@
+package com.etraveligroup.mazechallenge.solver.path;
+
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * {@link PathSink} streaming the path as text, {@code (x:y), (x:y), ...}, to a {@code Writer} (file, socket, ...).
+ * The writer is flushed but not closed when the solver finishes.
+ */
+public class WriterPathSink implements PathSink {
+
+    private final Writer writer;
+
+    public WriterPathSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void start(int x, int y) {
+        write("(" + x + ":" + y + ")");
+    }
+
+    @Override
+    public void step(Directions direction, int x, int y) {
+        try {
+            writer.write(", (");
+            writer.write(Integer.toString(x));
+            writer.write(':');
+            writer.write(Integer.toString(y));
+            writer.write(')');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            writer.write(System.lineSeparator());
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
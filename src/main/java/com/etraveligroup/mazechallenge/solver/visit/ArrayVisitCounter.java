@@ -0,0 +1,31 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import java.util.Arrays;
+
+/**
+ * Dense {@link VisitCounter} with one {@code int} per maze cell. Counts saturate at {@code Integer.MAX_VALUE}.
+ */
+public class ArrayVisitCounter implements VisitCounter {
+
+    private final int[] visits;
+
+    public ArrayVisitCounter(int cells) {
+        visits = new int[cells];
+    }
+
+    @Override
+    public int get(long cell) {
+        return visits[(int) cell];
+    }
+
+    @Override
+    public int increment(long cell) {
+        int count = visits[(int) cell];
+        return count == Integer.MAX_VALUE ? count : (visits[(int) cell] = count + 1);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(visits, 0);
+    }
+}
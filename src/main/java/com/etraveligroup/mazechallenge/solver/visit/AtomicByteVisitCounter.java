@@ -0,0 +1,42 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Dense {@link VisitCounter} with one byte per maze cell shared by Actors moving concurrently, for mazes too large for an atomic
+ * {@code int} per cell. Lock-free, counts saturate at {@link ByteVisitCounter#MAX_COUNT}.
+ */
+public class AtomicByteVisitCounter implements VisitCounter {
+
+    private static final VarHandle VISITS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final byte[] visits;
+
+    public AtomicByteVisitCounter(int cells) {
+        visits = new byte[cells];
+    }
+
+    @Override
+    public int get(long cell) {
+        return (byte) VISITS.getVolatile(visits, (int) cell) & 0xFF;
+    }
+
+    @Override
+    public int increment(long cell) {
+        int index = (int) cell, count;
+        do {
+            count = (byte) VISITS.getVolatile(visits, index) & 0xFF;
+            if (count == ByteVisitCounter.MAX_COUNT) {
+                return count;
+            }
+        } while (!VISITS.compareAndSet(visits, index, (byte) count, (byte) (count + 1)));
+        return count + 1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(visits, (byte) 0);
+    }
+}
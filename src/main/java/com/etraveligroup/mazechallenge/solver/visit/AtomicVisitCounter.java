@@ -0,0 +1,40 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Dense {@link VisitCounter} with one atomic {@code int} per maze cell, shared by Actors moving concurrently. Lock-free, counts
+ * saturate at {@code Integer.MAX_VALUE}.
+ */
+public class AtomicVisitCounter implements VisitCounter {
+
+    private final AtomicIntegerArray visits;
+
+    public AtomicVisitCounter(int cells) {
+        visits = new AtomicIntegerArray(cells);
+    }
+
+    @Override
+    public int get(long cell) {
+        return visits.get((int) cell);
+    }
+
+    @Override
+    public int increment(long cell) {
+        int index = (int) cell, count;
+        do {
+            count = visits.get(index);
+            if (count == Integer.MAX_VALUE) {
+                return count;
+            }
+        } while (!visits.compareAndSet(index, count, count + 1));
+        return count + 1;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < visits.length(); i++) {
+            visits.set(i, 0);
+        }
+    }
+}
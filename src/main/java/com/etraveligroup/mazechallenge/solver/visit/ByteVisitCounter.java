@@ -0,0 +1,38 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import java.util.Arrays;
+
+/**
+ * Dense {@link VisitCounter} with one byte per maze cell, for mazes too large for an {@code int} per cell. Counts saturate at
+ * {@link #MAX_COUNT}: the marks of the algorithms only tell never, once and more often visited blocks apart.
+ */
+public class ByteVisitCounter implements VisitCounter {
+
+    public static final int MAX_COUNT = 0xFF;
+
+    private final byte[] visits;
+
+    public ByteVisitCounter(int cells) {
+        visits = new byte[cells];
+    }
+
+    @Override
+    public int get(long cell) {
+        return visits[(int) cell] & 0xFF;
+    }
+
+    @Override
+    public int increment(long cell) {
+        int count = visits[(int) cell] & 0xFF;
+        if (count == MAX_COUNT) {
+            return count;
+        }
+        visits[(int) cell] = (byte) (count + 1);
+        return count + 1;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(visits, (byte) 0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+/**
+ * Sparse {@link VisitCounter} keeping only the visited blocks in a primitive open addressing map.
+ * Memory grows with the explored area instead of the maze size.
+ */
+public class HashVisitCounter implements VisitCounter {
+
+    private final LongIntHashMap visits;
+
+    public HashVisitCounter() {
+        this(1 << 10);
+    }
+
+    public HashVisitCounter(int expectedVisitedBlocks) {
+        visits = new LongIntHashMap(expectedVisitedBlocks, 0);
+    }
+
+    @Override
+    public int get(long cell) {
+        return visits.get(cell);
+    }
+
+    @Override
+    public int increment(long cell) {
+        // Saturates like the dense counters
+        return visits.increment(cell);
+    }
+
+    @Override
+    public void clear() {
+        visits.clear();
+    }
+
+    /**
+     * @return The number of distinct visited blocks
+     */
+    public int size() {
+        return visits.size();
+    }
+}
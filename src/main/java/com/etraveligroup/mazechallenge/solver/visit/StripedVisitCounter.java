@@ -0,0 +1,63 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+
+/**
+ * <p>Sparse {@link VisitCounter} shared by Actors moving concurrently. The blocks are spread over a fixed number of primitive maps,
+ * each guarded by its own lock, so Actors exploring different areas rarely wait for each other.</p>
+ */
+public class StripedVisitCounter implements VisitCounter {
+
+    private final LongIntHashMap[] stripes;
+
+    private final int mask;
+
+    public StripedVisitCounter() {
+        this(64);
+    }
+
+    /**
+     * @param stripes The number of locks, rounded up to a power of two
+     */
+    public StripedVisitCounter(int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new LongIntHashMap[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new LongIntHashMap(1 << 6, 0);
+        }
+        this.mask = count - 1;
+    }
+
+    @Override
+    public int get(long cell) {
+        LongIntHashMap stripe = stripe(cell);
+        synchronized (stripe) {
+            return stripe.get(cell);
+        }
+    }
+
+    @Override
+    public int increment(long cell) {
+        LongIntHashMap stripe = stripe(cell);
+        synchronized (stripe) {
+            return stripe.increment(cell);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (LongIntHashMap stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Neighbouring blocks go to different stripes, the cell index is mixed to spread rows and columns alike
+     */
+    private LongIntHashMap stripe(long cell) {
+        long hash = cell * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 40) & mask];
+    }
+}
@@ -0,0 +1,28 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+/**
+ * <p>Stores how many times the Actor has visited each block of a maze ('Mark the path' marks).</p>
+ *
+ * <p>Blocks are identified by their cell index, see {@link com.etraveligroup.mazechallenge.model.maze.Maze#getCellIndex(int, int)}.</p>
+ */
+public interface VisitCounter {
+
+    /**
+     * @param cell The cell index of the block
+     * @return The number of visits of the block, zero if never visited
+     */
+    int get(long cell);
+
+    /**
+     * Marks one more visit of the block
+     *
+     * @param cell The cell index of the block
+     * @return The number of visits of the block after this one
+     */
+    int increment(long cell);
+
+    /**
+     * Forgets all the visits
+     */
+    void clear();
+}
@@ -0,0 +1,61 @@
+package com.etraveligroup.mazechallenge.solver.visit;
+
+import com.etraveligroup.mazechallenge.model.maze.ArrayMazeGrid;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.StreamingMaze;
+
+/**
+ * <p>Selects the {@link VisitCounter} implementation for a maze. Mazes up to {@link #DENSE_MAX_CELLS} cells get an {@code int} per
+ * cell, larger ones up to {@link #BYTE_MAX_CELLS} cells a saturating byte per cell, as much memory as their grid. Only mazes larger
+ * than an array and mazes still being loaded get a sparse counter, about 24 bytes per visited block and a hash lookup per step.</p>
+ */
+public final class VisitCounters {
+
+    /**
+     * Mazes up to this number of cells use a dense counter of an {@code int} per cell (128 MB of counts at most)
+     */
+    public static final long DENSE_MAX_CELLS = 1L << 25;
+
+    /**
+     * Mazes up to this number of cells use a dense counter of a byte per cell, larger ones a sparse counter
+     */
+    public static final long BYTE_MAX_CELLS = ArrayMazeGrid.MAX_CELLS;
+
+    private VisitCounters() {
+    }
+
+    /**
+     * @return A dense counter for mazes up to {@link #BYTE_MAX_CELLS} cells, a sparse one for larger mazes and for mazes still
+     * being loaded, whose size is not known yet
+     */
+    public static VisitCounter forMaze(Maze maze) {
+        if (isLoading(maze)) {
+            return new HashVisitCounter();
+        }
+        long cells = (long) maze.getMazeHeight() * maze.getMazeWidth();
+
+        if (cells <= DENSE_MAX_CELLS) {
+            return new ArrayVisitCounter((int) cells);
+        }
+        return cells <= BYTE_MAX_CELLS ? new ByteVisitCounter((int) cells) : new HashVisitCounter();
+    }
+
+    /**
+     * @return A counter that may be shared by Actors moving concurrently in the maze
+     */
+    public static VisitCounter concurrentForMaze(Maze maze) {
+        if (isLoading(maze)) {
+            return new StripedVisitCounter();
+        }
+        long cells = (long) maze.getMazeHeight() * maze.getMazeWidth();
+
+        if (cells <= DENSE_MAX_CELLS) {
+            return new AtomicVisitCounter((int) cells);
+        }
+        return cells <= BYTE_MAX_CELLS ? new AtomicByteVisitCounter((int) cells) : new StripedVisitCounter();
+    }
+
+    private static boolean isLoading(Maze maze) {
+        return maze instanceof StreamingMaze && !((StreamingMaze) maze).isLoaded();
+    }
+}
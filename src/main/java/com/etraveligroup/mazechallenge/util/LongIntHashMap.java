@@ -0,0 +1,187 @@
+package com.etraveligroup.mazechallenge.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>Open addressing hash map from non negative {@code long} keys to {@code int} values, without boxing.</p>
+ *
+ * <p>Keys are stored in a power of two sized table with linear probing and the table doubles when half full.
+ * Missing keys read as the default value given at construction. Not thread-safe.</p>
+ */
+public class LongIntHashMap {
+
+    private static final long FREE = -1L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Largest power of two array length, the map holds half as many keys at most
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int mask;
+
+    private final int defaultValue;
+
+    public LongIntHashMap() {
+        this(MIN_CAPACITY, 0);
+    }
+
+    public LongIntHashMap(int expectedSize, int defaultValue) {
+        this.defaultValue = defaultValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            } else if (current == FREE) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return true;
+            } else if (current == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Associates the given value with the key
+     *
+     * @return The previous value of the key, or the default value
+     */
+    public int put(long key, int value) {
+        int slot = findOrInsert(key);
+        int previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Adds the given delta to the value of the key, starting from the default value for missing keys
+     *
+     * @return The new value of the key
+     */
+    public int addTo(long key, int delta) {
+        int slot = findOrInsert(key);
+        return values[slot] += delta;
+    }
+
+    /**
+     * Adds one to the value of the key, starting from the default value for missing keys. The value stops at
+     * {@code Integer.MAX_VALUE} instead of overflowing.
+     *
+     * @return The new value of the key
+     */
+    public int increment(long key) {
+        int slot = findOrInsert(key);
+        int value = values[slot];
+        return value == Integer.MAX_VALUE ? value : (values[slot] = value + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Visits every entry of the map
+     */
+    public void forEach(Consumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Primitive entry consumer of {@link #forEach(Consumer)}
+     */
+    public interface Consumer {
+        void accept(long key, int value);
+    }
+
+    private int findOrInsert(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            } else if (current == FREE) {
+                if (size + 1 > keys.length >>> 1) {
+                    rehash();
+                    return findOrInsert(key);
+                }
+                keys[slot] = key;
+                values[slot] = defaultValue;
+                size++;
+                return slot;
+            }
+        }
+    }
+
+    private void rehash() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("LongIntHashMap full, " + size + " keys");
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        // Finalizer of MurmurHash3, spreads sequential cell indexes over the table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,54 @@
+import com.etraveligroup.mazechallenge.model.maze.BinaryMazeWriter;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryMazeTest {
+
+    private static final String LARGE_MAZE = "src/test/files/mazeSolverTest/large_maze.txt";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    // Text maze converted to binary and loaded back
+    @Test
+    public void convertedMazeLoadsTheSameCells() throws MazeFileMalformedException, IOException {
+        // given:
+        File binaryFile = temporaryFolder.newFile("large_maze.mazb");
+        BinaryMazeWriter.convert(LARGE_MAZE, binaryFile.toPath());
+        // when:
+        Maze textMaze = new MazeBuilder(LARGE_MAZE).builtMaze();
+        Maze binaryMaze = new MazeBuilder(binaryFile.getPath()).builtMaze();
+        // then:
+        assertTrue(binaryFile.length() < new File(LARGE_MAZE).length());
+        assertEquals(textMaze.getMazeStart(), binaryMaze.getMazeStart());
+        assertEquals(textMaze.getMazeEnd(), binaryMaze.getMazeEnd());
+        assertEquals(textMaze.toString(), binaryMaze.toString());
+    }
+
+    // Corrupted body
+    @Test(expected = MazeFileMalformedException.class)
+    public void corruptedMazeIsRejected() throws MazeFileMalformedException, IOException {
+        // given:
+        File binaryFile = temporaryFolder.newFile("corrupted.mazb");
+        BinaryMazeWriter.convert(LARGE_MAZE, binaryFile.toPath());
+        try (RandomAccessFile file = new RandomAccessFile(binaryFile, "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 1);
+        }
+        // when:
+        new MazeBuilder(binaryFile.getPath()).builtMaze();
+    }
+}
@@ -0,0 +1,88 @@
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.etraveligroup.mazechallenge.model.actor.Directions.EAST;
+import static com.etraveligroup.mazechallenge.model.actor.Directions.NORTH;
+import static com.etraveligroup.mazechallenge.model.actor.Directions.SOUTH;
+import static com.etraveligroup.mazechallenge.model.actor.Directions.WEST;
+import static org.junit.Assert.assertEquals;
+
+public class CompactPathTest {
+
+    // Moves are decoded back to coordinates
+    @Test
+    public void iteratesCoordinatesOfMoves() {
+        // given:
+        CompactPath path = new CompactPath(2, 2);
+        // when:
+        path.append(EAST);
+        path.append(SOUTH);
+        path.append(WEST);
+        path.append(NORTH);
+        // then:
+        List<Coordinates> coordinates = new ArrayList<>();
+        path.forEach(coordinates::add);
+        assertEquals(List.of(new Coordinates(2, 2), new Coordinates(2, 3), new Coordinates(3, 3),
+                new Coordinates(3, 2), new Coordinates(2, 2)), coordinates);
+        assertEquals(5, path.size());
+    }
+
+    // Paths longer than one word of moves
+    @Test
+    public void keepsLongPaths() {
+        // given:
+        CompactPath path = new CompactPath(1, 1);
+        // when:
+        for (int i = 0; i < 1000; i++) {
+            path.append(i % 2 == 0 ? EAST : SOUTH);
+        }
+        // then:
+        assertEquals(1000, path.getMoveCount());
+        assertEquals(SOUTH, path.getMove(999));
+        assertEquals(EAST, path.getMove(998));
+        assertEquals(new Coordinates(501, 501), path.getEnd());
+    }
+
+    // Packed moves written and read back
+    @Test
+    public void writesAndReadsMoves() throws IOException {
+        // given:
+        CompactPath path = new CompactPath(3, 4);
+        for (int i = 0; i < 100; i++) {
+            path.append(i % 3 == 0 ? SOUTH : EAST);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // when:
+        path.writeTo(new DataOutputStream(bytes));
+        CompactPath read = CompactPath.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        // then:
+        assertEquals(100, read.getMoveCount());
+        assertEquals(new Coordinates(3, 4), new Coordinates(read.getStartX(), read.getStartY()));
+        assertEquals(path.getEnd(), read.getEnd());
+        assertEquals(SOUTH, read.getMove(99));
+    }
+
+    // A corrupt move count is not allocated, reading stops at the end of the input
+    @Test(expected = EOFException.class)
+    public void readingFailsAtTheEndOfInput() throws IOException {
+        // given:
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(1);
+        output.writeInt(1);
+        output.writeLong((long) Integer.MAX_VALUE * 32);
+        output.writeLong(0);
+        // when:
+        CompactPath.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
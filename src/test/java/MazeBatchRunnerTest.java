@@ -0,0 +1,70 @@
+import com.etraveligroup.mazechallenge.batch.BatchSummary;
+import com.etraveligroup.mazechallenge.batch.MazeBatchRunner;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MazeBatchRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MazeBatchRunner runner = new MazeBatchRunner(
+            List.of(new RandomMouseMazeSolver(), new MarkThePathMazeSolver(false)), 2);
+
+    @Test
+    public void solvesAllFilesOfDirectory() throws IOException, InterruptedException {
+        // given:
+        File directory = folder.newFolder("mazes");
+        for (int i = 0; i < 5; i++) {
+            Files.copy(Paths.get("src/test/files/mazeSolverTest/simple_maze.txt"), directory.toPath().resolve("maze" + i + ".txt"));
+        }
+        Files.copy(Paths.get("src/test/files/mazeBuilderTest/no_end_maze.txt"), directory.toPath().resolve("broken.txt"));
+        Files.copy(Paths.get("src/test/files/mazeBuilderTest/unsolvable_maze.txt"), directory.toPath().resolve("unsolvable.txt"));
+        StringWriter output = new StringWriter();
+        // when:
+        BatchSummary summary = runner.runDirectory(directory.toPath(), output);
+        // then:
+        assertEquals(7, summary.getFiles());
+        assertEquals(2, summary.getFailedFiles());
+        assertEquals(10, summary.getSolvedRuns());
+        List<String> lines = Arrays.asList(output.toString().split(System.lineSeparator()));
+        assertEquals(12, lines.size());
+        String[] markThePath = lines.stream().filter(line -> line.startsWith(directory.toPath().resolve("maze3.txt") + "\tMark"))
+                .findFirst().get().split("\t");
+        assertEquals("SOLVED", markThePath[2]);
+        assertEquals("6", markThePath[3]);
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(directory.toPath().resolve("broken.txt") + "\tERROR\t")));
+        // Rejected by the reachability check before any solver runs
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(directory.toPath().resolve("unsolvable.txt") + "\tERROR\t")));
+    }
+
+    @Test
+    public void solvesFilesOfManifest() throws IOException, InterruptedException {
+        // given:
+        Path manifest = folder.newFile("manifest.txt").toPath();
+        Files.write(manifest, List.of(Paths.get("src/test/files/mazeSolverTest/simple_maze.txt").toAbsolutePath().toString(),
+                "", Paths.get("src/test/files/mazeSolverTest/large_maze.txt").toAbsolutePath().toString()));
+        StringWriter output = new StringWriter();
+        // when:
+        BatchSummary summary = runner.runManifest(manifest, output);
+        // then:
+        assertEquals(2, summary.getFiles());
+        assertEquals(0, summary.getFailedFiles());
+        assertEquals(4, summary.getSolvedRuns());
+    }
+}
@@ -1,19 +1,60 @@
 import com.etraveligroup.mazechallenge.model.maze.throwable.EmptyMazeFileException;
 import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileIllegalCharacterException;
 import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeUnsolvableException;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
 import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.MazeUpdate;
+import com.etraveligroup.mazechallenge.model.maze.ReachabilityAnalyzer;
+import com.etraveligroup.mazechallenge.model.maze.ReachabilityReport;
+import com.etraveligroup.mazechallenge.model.block.Coordinates;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.EMPTY;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.END;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.START;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.WALL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class MazeBuilderTest {
 
-    private MazeBuilder mazeBuilderEmptyFile = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\empty_maze.txt");
-    private MazeBuilder mazeBuilderIllegalCharacter = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\illegal_maze.txt");
-    private MazeBuilder mazeBuilderMalformedNoStartBlock = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\no_start_maze.txt");
-    private MazeBuilder mazeBuilderMalformedNoEndBlock = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\no_end_maze.txt");
-    private MazeBuilder mazeBuilderMalformedMoreThanOneStarts = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\two_starts_maze.txt");
-    private MazeBuilder mazeBuilderMalformedMoreThanOneEnds = new MazeBuilder(".\\src\\test\\files\\mazeBuilderTest\\two_ends_maze.txt");
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    @After
+    public void shutdownPool() {
+        forkJoinPool.shutdown();
+    }
+
+    private MazeBuilder mazeBuilderEmptyFile = new MazeBuilder("src/test/files/mazeBuilderTest/empty_maze.txt");
+    private MazeBuilder mazeBuilderIllegalCharacter = new MazeBuilder("src/test/files/mazeBuilderTest/Illegal_maze.txt");
+    private MazeBuilder mazeBuilderMalformedNoStartBlock = new MazeBuilder("src/test/files/mazeBuilderTest/no_start_maze.txt");
+    private MazeBuilder mazeBuilderMalformedNoEndBlock = new MazeBuilder("src/test/files/mazeBuilderTest/no_end_maze.txt");
+    private MazeBuilder mazeBuilderMalformedMoreThanOneStarts = new MazeBuilder("src/test/files/mazeBuilderTest/two_starts_maze.txt");
+    private MazeBuilder mazeBuilderMalformedMoreThanOneEnds = new MazeBuilder("src/test/files/mazeBuilderTest/two_ends_maze.txt");
+    private MazeBuilder mazeBuilderIllegalCharacterWide = new MazeBuilder("src/test/files/mazeBuilderTest/illegal_wide_maze.txt");
+    private MazeBuilder mazeBuilderRaggedRows = new MazeBuilder("src/test/files/mazeBuilderTest/ragged_maze.txt");
+    private MazeBuilder mazeBuilderWindowsLineBreaks = new MazeBuilder("src/test/files/mazeBuilderTest/crlf_maze.txt");
+    private MazeBuilder mazeBuilderUnsolvable = new MazeBuilder("src/test/files/mazeBuilderTest/unsolvable_maze.txt");
+    private MazeBuilder mazeBuilderSimple = new MazeBuilder("src/test/files/mazeSolverTest/simple_maze.txt");
 
     // Empty file
     @Test(expected = EmptyMazeFileException.class)
@@ -51,4 +92,177 @@ public class MazeBuilderTest {
         mazeBuilderMalformedMoreThanOneEnds.builtMaze();
     }
 
+    // Grid queries of a valid maze
+    @Test
+    public void testGridQueries() throws MazeFileMalformedException, IOException {
+        // when:
+        Maze maze = mazeBuilderSimple.builtMaze();
+        // then:
+        assertEquals(3, maze.getMazeHeight());
+        assertEquals(4, maze.getMazeWidth());
+        assertEquals(START, maze.getBlockType(1, 1));
+        assertEquals(EMPTY, maze.getBlockType(1, 2));
+        assertEquals(WALL, maze.getBlockType(1, 4));
+        assertEquals(END, maze.getBlockType(3, 1));
+        assertNull(maze.getBlockType(0, 1));
+        assertNull(maze.getBlockType(3, 5));
+        assertFalse(maze.isAccessible(2, 1));
+        assertEquals(12, maze.getBlocks().size());
+    }
+
+    // Illegal character reported with its line and column
+    @Test
+    public void testIllegalCharacterPosition() throws MazeFileMalformedException, IOException {
+        try {
+            mazeBuilderIllegalCharacterWide.builtMaze();
+            fail();
+        } catch (MazeFileIllegalCharacterException ex) {
+            assertEquals("Not acceptable character '#' at line 3, column 9", ex.getMessage());
+        }
+    }
+
+    // Rows with different widths
+    @Test(expected = MazeFileMalformedException.class)
+    public void testMalformedMazeRaggedRows() throws MazeFileMalformedException, IOException {
+        mazeBuilderRaggedRows.builtMaze();
+    }
+
+    // Windows line breaks and a trailing line break
+    @Test
+    public void testWindowsLineBreaks() throws MazeFileMalformedException, IOException {
+        // when:
+        Maze maze = mazeBuilderWindowsLineBreaks.builtMaze();
+        // then:
+        assertEquals(3, maze.getMazeHeight());
+        assertEquals(12, maze.getMazeWidth());
+        assertEquals(EMPTY, maze.getBlockType(2, 10));
+        assertEquals(WALL, maze.getBlockType(3, 12));
+        assertEquals(END, maze.getBlockType(3, 1));
+        assertEquals(3, maze.getMazeEnd().getCoordinates().getX());
+    }
+
+    // Parallel parsing builds the same maze as sequential parsing
+    @Test
+    public void testParallelParsing() throws MazeFileMalformedException, IOException {
+        // given:
+        File file = writeMaze(1500, 1200, 1100, '_');
+        MazeBuilder parallelBuilder = new MazeBuilder(file.getPath());
+        parallelBuilder.setForkJoinPool(forkJoinPool);
+        // when:
+        Maze sequentialMaze = new MazeBuilder(file.getPath()).builtMaze();
+        Maze parallelMaze = parallelBuilder.builtMaze();
+        // then:
+        assertEquals(sequentialMaze.getMazeHeight(), parallelMaze.getMazeHeight());
+        assertEquals(sequentialMaze.getMazeWidth(), parallelMaze.getMazeWidth());
+        assertEquals(sequentialMaze.getMazeEnd(), parallelMaze.getMazeEnd());
+        for (int x = 1; x <= sequentialMaze.getMazeHeight(); x++) {
+            for (int y = 1; y <= sequentialMaze.getMazeWidth(); y++) {
+                assertEquals(sequentialMaze.getBlockType(x, y), parallelMaze.getBlockType(x, y));
+            }
+        }
+    }
+
+    // Parallel parsing reports errors of a later chunk
+    @Test
+    public void testParallelParsingIllegalCharacter() throws MazeFileMalformedException, IOException {
+        // given:
+        MazeBuilder parallelBuilder = new MazeBuilder(writeMaze(1500, 1200, 1100, '#').getPath());
+        parallelBuilder.setForkJoinPool(forkJoinPool);
+        try {
+            // when:
+            parallelBuilder.builtMaze();
+            fail();
+        } catch (MazeFileIllegalCharacterException ex) {
+            // then:
+            assertEquals("Not acceptable character '#' at line 1100, column 7", ex.getMessage());
+        }
+    }
+
+    // Start point in the first row, end point in the last one, one extra character at the given row
+    private File writeMaze(int height, int width, int extraRow, char extra) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int x = 1; x <= height; x++) {
+            char[] row = new char[width];
+            Arrays.fill(row, x % 3 == 0 ? 'X' : '_');
+            row[0] = '_';
+            if (x == 1) row[0] = 'S';
+            if (x == height) row[width - 1] = 'G';
+            if (x == extraRow) row[6] = extra;
+            content.append(row).append('\n');
+        }
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    // End point walled off
+    @Test(expected = MazeUnsolvableException.class)
+    public void testUnsolvableMaze() throws MazeFileMalformedException, IOException {
+        mazeBuilderUnsolvable.setReachabilityCheck(true);
+        mazeBuilderUnsolvable.builtMaze();
+    }
+
+    // Reachable area statistics
+    @Test
+    public void testReachabilityReport() throws MazeFileMalformedException, IOException {
+        // given:
+        mazeBuilderSimple.setReachabilityCheck(true);
+        // when:
+        mazeBuilderSimple.builtMaze();
+        // then:
+        assertTrue(mazeBuilderSimple.getReachabilityReport().isEndReachable());
+        assertEquals(7, mazeBuilderSimple.getReachabilityReport().getReachableBlocks());
+        assertEquals(7, mazeBuilderSimple.getReachabilityReport().getAccessibleBlocks());
+    }
+
+    // Every BFS level expanded and every row counted by the pool
+    @Test
+    public void testParallelReachabilityReport() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/large_maze.txt").builtMaze();
+        // when:
+        ReachabilityReport sequential = new ReachabilityAnalyzer().analyze(maze);
+        ReachabilityReport parallel = new ReachabilityAnalyzer(forkJoinPool, 1, 1).analyze(maze);
+        // then:
+        assertTrue(parallel.isEndReachable());
+        assertEquals(sequential.getReachableBlocks(), parallel.getReachableBlocks());
+        assertEquals(sequential.getAccessibleBlocks(), parallel.getAccessibleBlocks());
+        assertEquals(sequential.getTotalBlocks(), parallel.getTotalBlocks());
+    }
+
+    // Batch of cell changes on a built maze
+    @Test
+    public void testMazeUpdate() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = mazeBuilderSimple.builtMaze();
+        maze.getBlocks();
+        List<Long> notified = new ArrayList<>();
+        maze.addChangeListener((changed, cells) -> Arrays.stream(cells).forEach(notified::add));
+        // when:
+        maze.apply(new MazeUpdate().wall(1, 2).empty(2, 1).wall(2, 1).wall(2, 2));
+        // then:
+        assertEquals(WALL, maze.getBlockType(1, 2));
+        assertEquals(WALL, maze.getBlockType(2, 1));
+        assertEquals(WALL, maze.getBlock(1, 2).getBlockType());
+        assertEquals(WALL, maze.getBlocks().get(new Coordinates(1, 2)).getBlockType());
+        assertEquals(List.of(maze.getCellIndex(1, 2), maze.getCellIndex(2, 1)), notified);
+    }
+
+    // Invalid batches leave the maze unchanged
+    @Test
+    public void testInvalidMazeUpdate() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = mazeBuilderSimple.builtMaze();
+        // when:
+        for (MazeUpdate update : List.of(new MazeUpdate().wall(1, 2).wall(1, 1), new MazeUpdate().wall(1, 2).empty(4, 1))) {
+            try {
+                maze.apply(update);
+                fail();
+            } catch (IllegalArgumentException ex) {
+                // then:
+                assertEquals(EMPTY, maze.getBlockType(1, 2));
+            }
+        }
+    }
+
 }
@@ -0,0 +1,96 @@
+import com.etraveligroup.mazechallenge.model.actor.Directions;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.render.MazeRenderer;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class MazeRendererTest {
+
+    private static final String SIMPLE_MAZE = "src/test/files/mazeSolverTest/simple_maze.txt";
+
+    // Without overlays the maze is rendered in the maze file format
+    @Test
+    public void rendersMazeFileFormat() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/large_maze.txt").builtMaze();
+        String file = new String(Files.readAllBytes(Paths.get("src/test/files/mazeSolverTest/large_maze.txt")),
+                StandardCharsets.US_ASCII).replace("\r", "").trim();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // when:
+        new MazeRenderer(maze).render(bytes);
+        // then:
+        assertEquals(file + "\n", new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+        assertEquals(file + "\n", maze.toString());
+    }
+
+    @Test
+    public void rendersPathAndVisits() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder(SIMPLE_MAZE).builtMaze();
+        SolveResult result = new MarkThePathMazeSolver(false).solve(maze);
+        // A path going back and forth on its first blocks
+        CompactPath detour = new CompactPath(1, 1);
+        detour.append(Directions.EAST);
+        detour.append(Directions.EAST);
+        detour.append(Directions.WEST);
+        detour.append(Directions.EAST);
+        MazeRenderer renderer = new MazeRenderer(maze);
+        // when:
+        renderer.setPath(result.getCompactPath());
+        StringWriter path = new StringWriter();
+        renderer.render(path);
+        renderer.setPath(detour);
+        StringWriter detourPath = new StringWriter();
+        renderer.render(detourPath);
+        renderer.setPath(null);
+        renderer.setVisits(MazeRenderer.visitsOf(maze, detour));
+        StringWriter visits = new StringWriter();
+        renderer.render(visits);
+        // then:
+        assertEquals("S**X\nXX*X\nG**X\n", path.toString());
+        assertEquals("S**X\nXX_X\nG__X\n", detourPath.toString());
+        assertEquals("S22X\nXX_X\nG__X\n", visits.toString());
+    }
+
+    // Cells of 2x2 pixels in the colors of the blocks and of the path
+    @Test
+    public void rendersPng() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder(SIMPLE_MAZE).builtMaze();
+        MazeRenderer renderer = new MazeRenderer(maze);
+        renderer.setPath(new MarkThePathMazeSolver(false).solve(maze).getCompactPath());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // when:
+        renderer.renderPng(bytes, 2);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes.toByteArray()));
+        // then:
+        assertEquals(8, image.getWidth());
+        assertEquals(6, image.getHeight());
+        int wall = image.getRGB(6, 0), path = image.getRGB(2, 0), start = image.getRGB(0, 0), end = image.getRGB(1, 5);
+        assertEquals(wall, image.getRGB(7, 1));
+        assertEquals(wall, image.getRGB(0, 2));
+        assertEquals(path, image.getRGB(5, 3));
+        assertEquals(path, image.getRGB(3, 5));
+        assertNotEquals(wall, path);
+        assertNotEquals(start, path);
+        assertNotEquals(end, path);
+        assertNotEquals(start, end);
+    }
+}
@@ -0,0 +1,233 @@
+import com.etraveligroup.mazechallenge.server.MazeSolverServer;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveContext;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MazeSolverServerTest {
+
+    private static final String SIMPLE_MAZE = "S__X\nXX_X\nG__X\n";
+
+    private MazeSolverServer server;
+
+    @After
+    public void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    // Mazes separated by blank lines are answered in order, a broken one does not fail the others
+    @Test
+    public void solvesBatchOfMazes() throws IOException {
+        // given:
+        server = startServer(new MarkThePathMazeSolver(false), 2, 4);
+        String body = SIMPLE_MAZE + "\n" + "S__X\nXX_\nG__X\n" + "\r\n\r\n" + SIMPLE_MAZE.replace("\n", "\r\n");
+        // when:
+        Response response = post("/solve", body, null);
+        // then:
+        assertEquals(200, response.status);
+        List<String> lines = Arrays.asList(new String(response.body, StandardCharsets.UTF_8).split("\n"));
+        assertEquals(3, lines.size());
+        assertEquals("SOLVED\t6\t1,1\tEESSWW", lines.get(0));
+        assertEquals("ERROR\tMaze rows should all have the width of the first row (line 2)", lines.get(1));
+        assertEquals("SOLVED\t6\t1,1\tEESSWW", lines.get(2));
+        // Streamed run by run, the length is not known up front
+        assertEquals("chunked", response.transferEncoding);
+    }
+
+    // Compact paths as written by CompactPath.writeTo
+    @Test
+    public void answersBinaryPaths() throws IOException {
+        // given:
+        server = startServer(new MarkThePathMazeSolver(false), 1, 1);
+        // when:
+        Response response = post("/solve?maxSteps=100", SIMPLE_MAZE, "application/octet-stream");
+        // then:
+        assertEquals(200, response.status);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(response.body));
+        assertEquals(1, input.readInt());
+        assertEquals("SOLVED", input.readUTF());
+        CompactPath path = CompactPath.readFrom(input);
+        assertEquals(6, path.getMoveCount());
+        assertEquals(3, path.getEnd().getX());
+        assertEquals(1, path.getEnd().getY());
+    }
+
+    @Test
+    public void rejectsIllegalRequests() throws IOException {
+        // given:
+        server = startServer(new MarkThePathMazeSolver(false), 1, 1);
+        server.setMaxBodyBytes(8);
+        // when:
+        Response unknownSolver = post("/solve?solver=none", SIMPLE_MAZE, null);
+        Response illegalBudget = post("/solve?maxSteps=-1", SIMPLE_MAZE, null);
+        Response tooLarge = post("/solve", SIMPLE_MAZE, null);
+        // then:
+        assertEquals(400, unknownSolver.status);
+        assertEquals(400, illegalBudget.status);
+        assertEquals(413, tooLarge.status);
+    }
+
+    // A header that is not a length is a bad request, not a failure of the server
+    @Test
+    public void rejectsMalformedContentLength() throws IOException {
+        // given:
+        server = startServer(new MarkThePathMazeSolver(false), 1, 1);
+        // when:
+        String statusLine;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.getOutputStream().write(("POST /solve HTTP/1.1\r\nHost: localhost\r\nContent-Length: 12x\r\n"
+                    + "Connection: close\r\n\r\n" + SIMPLE_MAZE).getBytes(StandardCharsets.US_ASCII));
+            socket.getOutputStream().flush();
+            statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+        }
+        // then:
+        assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 400"));
+    }
+
+    // Runs without a budget get the default of the server, larger budgets are lowered to its maximum
+    @Test
+    public void boundsTheRunsWithTheLimitsOfTheServer() throws IOException {
+        // given:
+        server = startServer(new MarkThePathMazeSolver(false), 1, 1);
+        server.setStepLimits(2, 4);
+        // when:
+        Response withoutBudget = post("/solve", SIMPLE_MAZE, null);
+        Response largeBudget = post("/solve?maxSteps=100", SIMPLE_MAZE, null);
+        Response unsolvable = post("/solve", "S_X\nXXX\nG__\n", null);
+        // then:
+        assertEquals("STEP_BUDGET_EXHAUSTED\t2\t1,1\tEE\n", new String(withoutBudget.body, StandardCharsets.UTF_8));
+        assertEquals("STEP_BUDGET_EXHAUSTED\t4\t1,1\tEESS\n", new String(largeBudget.body, StandardCharsets.UTF_8));
+        assertTrue(new String(unsolvable.body, StandardCharsets.UTF_8).startsWith("ERROR\t"));
+    }
+
+    // One request solved, one queued: a third one is rejected at once instead of waiting
+    @Test
+    public void rejectsRequestsWhenTheQueueIsFull() throws Exception {
+        // given:
+        CountDownLatch solving = new CountDownLatch(1), release = new CountDownLatch(1);
+        server = startServer(new MazeSolver() {
+            @Override
+            protected void solve(SolveContext context) {
+                solving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 1, 1);
+        ExecutorService clients = Executors.newFixedThreadPool(3);
+        try {
+            Future<Response> first = clients.submit(() -> post("/solve", SIMPLE_MAZE, null));
+            assertTrue(solving.await(10, TimeUnit.SECONDS));
+            // when:
+            Future<Response> second = clients.submit(() -> post("/solve", SIMPLE_MAZE, null));
+            Future<Response> third = clients.submit(() -> post("/solve", SIMPLE_MAZE, null));
+            Future<Response> rejected = waitForRejection(second, third);
+            Future<Response> queued = rejected == second ? third : second;
+            release.countDown();
+            // then:
+            assertEquals(503, rejected.get().status);
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).status);
+            assertEquals(200, queued.get(10, TimeUnit.SECONDS).status);
+            assertEquals(1, server.getRejectedRequests());
+        } finally {
+            release.countDown();
+            clients.shutdown();
+        }
+    }
+
+    /**
+     * Either request may reach the queue first, the other one is rejected
+     */
+    private static Future<Response> waitForRejection(Future<Response> second, Future<Response> third) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            for (Future<Response> request : Arrays.asList(second, third)) {
+                if (request.isDone()) {
+                    return request;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No request rejected");
+    }
+
+    private static MazeSolverServer startServer(MazeSolver solver, int workers, int queueCapacity) throws IOException {
+        Map<String, MazeSolver> solvers = new LinkedHashMap<>();
+        solvers.put("test", solver);
+        MazeSolverServer server = new MazeSolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), solvers,
+                workers, queueCapacity);
+        server.start();
+        return server;
+    }
+
+    private Response post(String path, String body, String accept) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            if (accept != null) {
+                connection.setRequestProperty("Accept", accept);
+            }
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            Response response = new Response();
+            response.status = connection.getResponseCode();
+            response.transferEncoding = connection.getHeaderField("Transfer-Encoding");
+            try (InputStream input = response.status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read; input != null && (read = input.read(buffer)) >= 0; ) {
+                    bytes.write(buffer, 0, read);
+                }
+                response.body = bytes.toByteArray();
+            }
+            return response;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static class Response {
+
+        private int status;
+
+        private byte[] body;
+
+        private String transferEncoding;
+    }
+}
@@ -1,24 +1,50 @@
-import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
-import com.etraveligroup.mazechallenge.solver.MazeSolver;
 import com.etraveligroup.mazechallenge.model.actor.Actor;
-import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
 import com.etraveligroup.mazechallenge.model.block.Block;
 import com.etraveligroup.mazechallenge.model.block.Coordinates;
 import com.etraveligroup.mazechallenge.model.maze.Maze;
 import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.MazeUpdate;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.CancellationToken;
+import com.etraveligroup.mazechallenge.solver.CooperativeMazeSolver;
+import com.etraveligroup.mazechallenge.solver.DStarLiteMazeSolver;
+import com.etraveligroup.mazechallenge.solver.IncrementalMazeSolver;
+import com.etraveligroup.mazechallenge.solver.JunctionGraphMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkTheJunctionsMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MazeSolver;
+import com.etraveligroup.mazechallenge.solver.PortfolioMazeSolver;
 import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.SolveStatus;
+import com.etraveligroup.mazechallenge.solver.montecarlo.MonteCarloReport;
+import com.etraveligroup.mazechallenge.solver.montecarlo.MonteCarloRunner;
+import com.etraveligroup.mazechallenge.solver.path.WriterPathSink;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.Assert.assertEquals;
-import static com.etraveligroup.mazechallenge.model.block.BlockTypes.START;
-import static com.etraveligroup.mazechallenge.model.block.BlockTypes.END;
 import static com.etraveligroup.mazechallenge.model.block.BlockTypes.EMPTY;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.END;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.START;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.WALL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class MazeSolverTest {
 
@@ -27,8 +53,8 @@ public class MazeSolverTest {
     private static MarkThePathMazeSolver markThePath;
     private static MarkThePathMazeSolver markThePathLarge;
 
-    private static MazeBuilder mazeBuilder = new MazeBuilder(".\\src\\test\\files\\mazeSolverTest\\simple_maze.txt");
-    private static MazeBuilder largeMazeBuilder = new MazeBuilder(".\\src\\test\\files\\mazeSolverTest\\large_maze.txt");
+    private static MazeBuilder mazeBuilder = new MazeBuilder("src/test/files/mazeSolverTest/simple_maze.txt");
+    private static MazeBuilder largeMazeBuilder = new MazeBuilder("src/test/files/mazeSolverTest/large_maze.txt");
 
     private static Maze maze;
     private static Maze largeMaze;
@@ -125,4 +151,454 @@ public class MazeSolverTest {
         assertEquals(randomMouseLarge.getPath().get(lastBlockIndex).getBlockType(), END);
     }
 
+    // Simple maze, path streamed to a writer
+    @Test
+    public void deterministicMarkThePathAlgorithmStreamsPath() {
+        // given:
+        MarkThePathMazeSolver streamingMarkThePath = new MarkThePathMazeSolver(maze, new Actor());
+        StringWriter writer = new StringWriter();
+        streamingMarkThePath.setPathSink(new WriterPathSink(writer));
+        // when:
+        streamingMarkThePath.solveMaze(false);
+        // then:
+        assertEquals("(1:1), (1:2), (1:3), (2:3), (3:3), (3:2), (3:1)" + System.lineSeparator(), writer.toString());
+        assertEquals(0, streamingMarkThePath.getPath().size());
+    }
+
+    // Simple maze, stopped by the step budget
+    @Test
+    public void solveStopsAtStepBudget() {
+        // given:
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(maze, new Actor(), false);
+        // when:
+        SolveResult result = solver.solve(SolveOptions.builder().maxSteps(3).build());
+        // then:
+        assertEquals(SolveStatus.STEP_BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(3, result.getSteps());
+        assertEquals(List.of(block1, block2, block3, block4), result.getPath());
+    }
+
+    // Large maze, stopped by a cancelled token and by a past deadline
+    @Test
+    public void solveStopsWhenCancelledOrPastDeadline() {
+        // given:
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        // when:
+        SolveResult cancelled = new RandomMouseMazeSolver(largeMaze, new Actor())
+                .solve(SolveOptions.builder().cancellationToken(token).build());
+        SolveResult late = new RandomMouseMazeSolver(largeMaze, new Actor())
+                .solve(SolveOptions.builder().deadline(Instant.now().minusSeconds(1)).build());
+        // then:
+        assertEquals(SolveStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(0, cancelled.getSteps());
+        assertEquals(SolveStatus.DEADLINE_EXCEEDED, late.getStatus());
+        assertFalse(late.isSolved());
+    }
+
+    // Simple maze, within the limits
+    @Test
+    public void solveWithinLimits() {
+        // given:
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(maze, new Actor(), false);
+        // when:
+        SolveResult result = solver.solve(SolveOptions.builder().maxSteps(6).timeout(Duration.ofMinutes(1)).build());
+        // then:
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertEquals(6, result.getSteps());
+    }
+
+    // Simple and large mazes, one solver shared by concurrent runs
+    @Test
+    public void solveAllSharesOneSolverAcrossThreads() throws InterruptedException {
+        // given:
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        List<Maze> mazes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            mazes.add(i % 2 == 0 ? maze : largeMaze);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // when:
+        List<SolveResult> results;
+        try {
+            results = solver.solveAll(mazes, executor, SolveOptions.UNBOUNDED);
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        List<Block> largePath = solver.solve(largeMaze).getPath();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(SolveStatus.SOLVED, results.get(i).getStatus());
+            assertEquals(i % 2 == 0 ? List.of(block1, block2, block3, block4, block5, block6, block7) : largePath,
+                    results.get(i).getPath());
+        }
+    }
+
+    // Large maze, algorithms raced on a thread pool
+    @Test
+    public void portfolioReturnsFirstSolvedPath() {
+        // given:
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        PortfolioMazeSolver portfolio = new PortfolioMazeSolver(largeMaze, new Actor(),
+                List.of(new RandomMouseMazeSolver(), new MarkThePathMazeSolver(false), new MarkThePathMazeSolver(true)), executor);
+        // when:
+        SolveResult result;
+        List<Block> path;
+        try {
+            result = portfolio.solve(largeMaze);
+            path = portfolio.solveMaze();
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertEquals(END, result.getPath().get(result.getPath().size() - 1).getBlockType());
+        assertEquals(START, path.get(0).getBlockType());
+        assertEquals(END, path.get(path.size() - 1).getBlockType());
+    }
+
+    // Large maze, no member within the step budget
+    @Test
+    public void portfolioStopsWhenNoMemberSolves() {
+        // given:
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        PortfolioMazeSolver portfolio = new PortfolioMazeSolver(
+                List.of(new RandomMouseMazeSolver(), new MarkThePathMazeSolver(false)), executor);
+        // when:
+        SolveResult result;
+        try {
+            result = portfolio.solve(largeMaze, SolveOptions.builder().maxSteps(2).build());
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(SolveStatus.STEP_BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(2, result.getSteps());
+        assertEquals(1, portfolio.getMetrics().getRuns());
+    }
+
+    // Large maze, runs replayed from their seed
+    @Test
+    public void seededRunsAreReproducible() {
+        // given:
+        RandomMouseMazeSolver solver = new RandomMouseMazeSolver();
+        SolveResult first = solver.solve(largeMaze);
+        // when:
+        SolveResult replay = solver.solve(largeMaze, SolveOptions.builder().seed(first.getSeed()).build());
+        // then:
+        assertEquals(first.getPath(), replay.getPath());
+    }
+
+    // Large maze, parallel seeded runs
+    @Test
+    public void monteCarloReportsDistributionOfSeededRuns() {
+        // given:
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MonteCarloRunner runner = new MonteCarloRunner(new MarkThePathMazeSolver(true), pool);
+        SolveResult shortest = new DStarLiteMazeSolver().solve(largeMaze);
+        // when:
+        MonteCarloReport report, replay;
+        try {
+            report = runner.run(largeMaze, 64, 42L, SolveOptions.UNBOUNDED);
+            replay = runner.run(largeMaze, 64, 42L, SolveOptions.UNBOUNDED);
+        } finally {
+            pool.shutdown();
+        }
+        // then:
+        assertEquals(64, report.getSolvedRuns());
+        // The loops erased, a path is no shorter than the shortest path and much shorter than the walk
+        assertTrue(report.getPathLengths().getMin() >= shortest.getSteps() + 1);
+        assertTrue(report.getPathLengths().getMax() < report.getSteps().getMin());
+        assertEquals(report.getSteps().toString(), replay.getSteps().toString());
+    }
+
+    // Simple maze, corridors collapsed into edges
+    @Test
+    public void deterministicJunctionGraphAlgorithmSimpleMaze() {
+        // when:
+        SolveResult result = new JunctionGraphMazeSolver(false).solve(maze);
+        // then:
+        assertEquals(List.of(block1, block2, block3, block4, block5, block6, block7), result.getPath());
+    }
+
+    // Large maze, known corridors replayed
+    @Test
+    public void junctionGraphAlgorithmLargeMaze() {
+        for (boolean withRandomness : new boolean[]{false, true}) {
+            // when:
+            List<Block> path = new JunctionGraphMazeSolver(largeMaze, new Actor(), withRandomness).solveMaze();
+            // then:
+            assertWalkFromStartToEnd(largeMaze, path);
+        }
+    }
+
+    // Unsolvable maze, all edges marked twice
+    @Test
+    public void junctionGraphAlgorithmDetectsUnreachableEnd() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze unsolvable = new MazeBuilder("src/test/files/mazeBuilderTest/unsolvable_maze.txt").builtMaze();
+        // when:
+        SolveResult result = new JunctionGraphMazeSolver(true).solve(unsolvable);
+        // then:
+        assertEquals(SolveStatus.UNREACHABLE, result.getStatus());
+        assertEquals(START, result.getPath().get(result.getPath().size() - 1).getBlockType());
+    }
+
+    // Simple maze, only junction passages marked
+    @Test
+    public void deterministicMarkTheJunctionsAlgorithmSimpleMaze() {
+        // when:
+        SolveResult result = new MarkTheJunctionsMazeSolver(false).solve(maze);
+        // then:
+        assertEquals(List.of(block1, block2, block3, block4, block5, block6, block7), result.getPath());
+    }
+
+    // Large maze, only junction passages marked
+    @Test
+    public void markTheJunctionsAlgorithmLargeMaze() {
+        for (boolean withRandomness : new boolean[]{false, true}) {
+            // when:
+            List<Block> path = new MarkTheJunctionsMazeSolver(largeMaze, new Actor(), withRandomness).solveMaze();
+            // then:
+            assertWalkFromStartToEnd(largeMaze, path);
+        }
+    }
+
+    // Unsolvable maze, all junction passages marked twice
+    @Test
+    public void markTheJunctionsAlgorithmDetectsUnreachableEnd() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze unsolvable = new MazeBuilder("src/test/files/mazeBuilderTest/unsolvable_maze.txt").builtMaze();
+        // when:
+        SolveResult result = new MarkTheJunctionsMazeSolver(true).solve(unsolvable);
+        // then:
+        assertEquals(SolveStatus.UNREACHABLE, result.getStatus());
+    }
+
+    // Simple maze, planned over the discovered map
+    @Test
+    public void dStarLiteAlgorithmSimpleMaze() {
+        // when:
+        SolveResult result = new DStarLiteMazeSolver().solve(maze);
+        // then:
+        assertEquals(List.of(block1, block2, block3, block4, block5, block6, block7), result.getPath());
+    }
+
+    // Large maze, planned over the discovered map
+    @Test
+    public void dStarLiteAlgorithmLargeMaze() {
+        // when:
+        List<Block> path = new DStarLiteMazeSolver(largeMaze, new Actor()).solveMaze();
+        // then:
+        assertWalkFromStartToEnd(largeMaze, path);
+    }
+
+    // Unsolvable maze, the known walls enclose the start point
+    @Test
+    public void dStarLiteAlgorithmDetectsUnreachableEnd() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze unsolvable = new MazeBuilder("src/test/files/mazeBuilderTest/unsolvable_maze.txt").builtMaze();
+        // when:
+        SolveResult result = new DStarLiteMazeSolver().solve(unsolvable);
+        // then:
+        assertEquals(SolveStatus.UNREACHABLE, result.getStatus());
+    }
+
+    // Start point walled in, no move to select
+    @Test
+    public void walledInStartIsUnreachable() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze walledIn = new MazeBuilder("src/test/files/mazeSolverTest/walled_start_maze.txt").builtMaze();
+        for (MazeSolver solver : List.of(new MarkThePathMazeSolver(true), new MarkThePathMazeSolver(false),
+                new RandomMouseMazeSolver(), new MarkTheJunctionsMazeSolver(true), new JunctionGraphMazeSolver(true))) {
+            // when:
+            SolveResult result = solver.solve(walledIn);
+            // then:
+            assertEquals(solver.toString(), SolveStatus.UNREACHABLE, result.getStatus());
+            assertEquals(1, result.getPath().size());
+        }
+    }
+
+    // Open maze, walls added and removed between runs
+    @Test
+    public void incrementalSolverRepairsPathAfterWallChanges() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze openMaze = new MazeBuilder("src/test/files/mazeSolverTest/open_maze.txt").builtMaze();
+        try (IncrementalMazeSolver solver = new IncrementalMazeSolver(openMaze, new Actor())) {
+            // when:
+            SolveResult initial = solver.solve(openMaze);
+            long initialExpanded = solver.getExpandedCells();
+            openMaze.apply(new MazeUpdate().wall(2, 1).wall(4, 5));
+            SolveResult detour = solver.solve(openMaze);
+            assertWalkFromStartToEnd(openMaze, detour.getPath());
+            openMaze.apply(new MazeUpdate().wall(2, 5));
+            SolveResult blocked = solver.solve(openMaze);
+            long blockedExpanded = solver.getExpandedCells();
+            openMaze.apply(new MazeUpdate().empty(2, 1));
+            SolveResult reopened = solver.solve(openMaze);
+            // Only the cells around the reopened block are searched again
+            long reopenedExpanded = solver.getExpandedCells() - blockedExpanded;
+            long freshExpanded;
+            try (IncrementalMazeSolver fresh = new IncrementalMazeSolver(openMaze, new Actor())) {
+                fresh.solve(openMaze);
+                freshExpanded = fresh.getExpandedCells();
+            }
+            // then:
+            assertEquals(8, initial.getSteps());
+            assertEquals(16, detour.getSteps());
+            assertEquals(SolveStatus.UNREACHABLE, blocked.getStatus());
+            assertEquals(SolveStatus.SOLVED, reopened.getStatus());
+            assertEquals(8, reopened.getSteps());
+            assertTrue(reopenedExpanded + " cells expanded", reopenedExpanded * 4 < initialExpanded);
+            assertTrue(reopenedExpanded + " of " + freshExpanded + " cells expanded", reopenedExpanded < freshExpanded);
+        }
+    }
+
+    // Large maze, several Actors sharing the visits per block
+    @Test
+    public void cooperativeActorsSolveLargeMaze() {
+        // given:
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CooperativeMazeSolver cooperative = new CooperativeMazeSolver(largeMaze, new Actor(), 4, executor, true);
+        // when:
+        SolveResult result;
+        List<Block> path;
+        try {
+            result = cooperative.solve(largeMaze, SolveOptions.UNBOUNDED.withSeed(42L));
+            path = cooperative.solveMaze();
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertWalkFromStartToEnd(largeMaze, result.getPath());
+        assertWalkFromStartToEnd(largeMaze, path);
+    }
+
+    // Large maze, no Actor within the step budget
+    @Test
+    public void cooperativeActorsStopAtStepBudget() {
+        // given:
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CooperativeMazeSolver cooperative = new CooperativeMazeSolver(2, executor, false);
+        // when:
+        SolveResult result;
+        try {
+            result = cooperative.solve(largeMaze, SolveOptions.builder().maxSteps(3).build());
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(SolveStatus.STEP_BUDGET_EXHAUSTED, result.getStatus());
+        assertEquals(3, result.getSteps());
+    }
+
+    // Four corridors from the start point, the end point at the end of the last one taken by a single Actor
+    @Test
+    public void cooperativeActorsSpreadIntoDifferentCorridors() throws MazeFileMalformedException, IOException {
+        // given:
+        int length = 1 << 20;
+        Maze cross = new MazeBuilder("cross").builtMaze(ByteBuffer.wrap(crossMaze(length).getBytes(StandardCharsets.US_ASCII)));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // when:
+        SolveResult single = new MarkThePathMazeSolver(false).solve(cross);
+        SolveResult cooperative;
+        try {
+            cooperative = new CooperativeMazeSolver(4, executor, false).solve(cross);
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        // Alone the Actor walks the dead ends and back before the east corridor
+        assertTrue(single.getSteps() + " steps", single.getSteps() > 3L * length);
+        assertEquals(SolveStatus.SOLVED, cooperative.getStatus());
+        assertWalkFromStartToEnd(cross, cooperative.getPath());
+        // Only an Actor taking the east corridor first, while another one walks the west corridor, wins this fast
+        assertTrue(cooperative.getSteps() + " steps", cooperative.getSteps() < 2L * length);
+    }
+
+    // A search over a million blocks stops at the limits of the run instead of completing first
+    @Test
+    public void plannersStopAtTheLimitsOfTheRun() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze serpentine = new MazeBuilder("serpentine")
+                .builtMaze(ByteBuffer.wrap(serpentineMaze(1001).getBytes(StandardCharsets.US_ASCII)));
+        IncrementalMazeSolver incremental = new IncrementalMazeSolver(serpentine, new Actor());
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        // when:
+        SolveResult replanning = new DStarLiteMazeSolver().solve(serpentine,
+                SolveOptions.builder().timeout(Duration.ofMillis(100)).build());
+        SolveResult cancelledReplanning = new DStarLiteMazeSolver().solve(serpentine,
+                SolveOptions.builder().cancellationToken(cancelled).build());
+        SolveResult planning = incremental.solve(serpentine, SolveOptions.builder().timeout(Duration.ofMillis(10)).build());
+        SolveResult resumed = incremental.solve(serpentine);
+        incremental.close();
+        // then:
+        assertEquals(SolveStatus.DEADLINE_EXCEEDED, replanning.getStatus());
+        assertTrue(replanning.getElapsedNanos() + " ns", replanning.getElapsedNanos() < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(SolveStatus.CANCELLED, cancelledReplanning.getStatus());
+        assertEquals(0, cancelledReplanning.getSteps());
+        assertEquals(SolveStatus.DEADLINE_EXCEEDED, planning.getStatus());
+        assertEquals(0, planning.getSteps());
+        assertTrue(planning.getElapsedNanos() + " ns", planning.getElapsedNanos() < TimeUnit.SECONDS.toNanos(1));
+        // The interrupted search is resumed by the next run
+        assertEquals(SolveStatus.SOLVED, resumed.getStatus());
+        assertEquals(501_000, resumed.getSteps());
+    }
+
+    /**
+     * @return A square maze of corridors joined at alternate ends, the start point and the end point at the ends of the first
+     * and the last corridor
+     */
+    private static String serpentineMaze(int size) {
+        StringBuilder maze = new StringBuilder();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (x == 0 && y == 0) {
+                    maze.append('S');
+                } else if (x == size - 1 && y == 0) {
+                    maze.append('G');
+                } else if (x % 2 == 0) {
+                    maze.append('_');
+                } else {
+                    maze.append(y == ((x / 2) % 2 == 0 ? size - 1 : 0) ? '_' : 'X');
+                }
+            }
+            maze.append('\n');
+        }
+        return maze.toString();
+    }
+
+    /**
+     * @return A maze of three rows, the start point in its center: corridors of one block north and south of it, corridors of the
+     * given length west and east of it, the end point at the end of the east corridor
+     */
+    private static String crossMaze(int length) {
+        StringBuilder maze = new StringBuilder();
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y <= 2 * length; y++) {
+                if (x == 1 && y == length) {
+                    maze.append('S');
+                } else if (x == 1 && y == 2 * length) {
+                    maze.append('G');
+                } else {
+                    maze.append(x == 1 || y == length ? '_' : 'X');
+                }
+            }
+            maze.append('\n');
+        }
+        return maze.toString();
+    }
+
+    private static void assertWalkFromStartToEnd(Maze maze, List<Block> path) {
+        assertEquals(START, path.get(0).getBlockType());
+        assertEquals(END, path.get(path.size() - 1).getBlockType());
+        for (int i = 1; i < path.size(); i++) {
+            Coordinates previous = path.get(i - 1).getCoordinates(), current = path.get(i).getCoordinates();
+            assertEquals(1, Math.abs(previous.getX() - current.getX()) + Math.abs(previous.getY() - current.getY()));
+            assertFalse(current.toString(), maze.getBlockType(current.getX(), current.getY()) == WALL);
+        }
+    }
+
 }
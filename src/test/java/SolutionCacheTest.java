@@ -0,0 +1,149 @@
+import com.etraveligroup.mazechallenge.cache.ContentHash;
+import com.etraveligroup.mazechallenge.cache.SolutionCache;
+import com.etraveligroup.mazechallenge.cache.SolutionStore;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.RandomMouseMazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.SolveStatus;
+import com.etraveligroup.mazechallenge.solver.path.CompactPath;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SolutionCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Path simpleMaze = Paths.get("src/test/files/mazeSolverTest/simple_maze.txt");
+
+    private final Path largeMaze = Paths.get("src/test/files/mazeSolverTest/large_maze.txt");
+
+    // Same content under another name, solved once
+    @Test
+    public void identicalFilesShareTheirPath() throws MazeFileMalformedException, IOException {
+        // given:
+        Path copy = folder.getRoot().toPath().resolve("copy.txt");
+        Files.copy(largeMaze, copy);
+        SolutionCache cache = new SolutionCache(1 << 20);
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        // when:
+        SolveResult solved = cache.solve(largeMaze, solver, SolveOptions.UNBOUNDED);
+        SolveResult cached = cache.solve(copy, solver, SolveOptions.UNBOUNDED);
+        // then:
+        assertEquals(ContentHash.of(largeMaze), ContentHash.of(copy));
+        assertNotNull(solved.getMaze());
+        assertNull(cached.getMaze());
+        assertEquals(SolveStatus.SOLVED, cached.getStatus());
+        assertEquals(solved.getSteps(), cached.getSteps());
+        assertEquals(solved.getCompactPath().getEnd(), cached.getCompactPath().getEnd());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, solver.getMetrics().getRuns());
+    }
+
+    // Paths read back from disk by a new cache
+    @Test
+    public void storedPathsSurviveTheCache() throws MazeFileMalformedException, IOException {
+        // given:
+        SolutionStore store = new SolutionStore(folder.getRoot().toPath().resolve("store"));
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        SolveResult solved = new SolutionCache(1 << 20, store).solve(largeMaze, solver, SolveOptions.UNBOUNDED);
+        // when:
+        SolutionCache restarted = new SolutionCache(1 << 20, store);
+        SolveResult cached = restarted.solve(largeMaze, solver, SolveOptions.UNBOUNDED);
+        // then:
+        assertEquals(1, restarted.getHits());
+        assertEquals(solved.getSteps(), cached.getSteps());
+        for (long i = 0; i < solved.getCompactPath().getMoveCount(); i++) {
+            assertEquals(solved.getCompactPath().getMove(i), cached.getCompactPath().getMove(i));
+        }
+    }
+
+    // A stored path claiming more moves than the file holds is solved again
+    @Test
+    public void truncatedStoredPathIsAMiss() throws MazeFileMalformedException, IOException {
+        // given:
+        Path directory = folder.getRoot().toPath().resolve("store");
+        SolutionStore store = new SolutionStore(directory);
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        new SolutionCache(1 << 20, store).solve(largeMaze, solver, SolveOptions.UNBOUNDED);
+        List<Path> files;
+        try (Stream<Path> stored = Files.list(directory)) {
+            files = stored.collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - Long.BYTES));
+        }
+        // when:
+        SolutionCache restarted = new SolutionCache(1 << 20, store);
+        SolveResult solved = restarted.solve(largeMaze, solver, SolveOptions.UNBOUNDED);
+        // then:
+        assertEquals(1, files.size());
+        assertEquals(0, restarted.getHits());
+        assertEquals(1, restarted.getMisses());
+        assertNotNull(solved.getMaze());
+        assertEquals(SolveStatus.SOLVED, solved.getStatus());
+    }
+
+    // Randomized runs are cached by seed only, longer paths than the budget are solved again
+    @Test
+    public void randomizedRunsAreCachedBySeed() throws MazeFileMalformedException, IOException {
+        // given:
+        SolutionCache cache = new SolutionCache(1 << 20);
+        RandomMouseMazeSolver solver = new RandomMouseMazeSolver();
+        SolveOptions seeded = SolveOptions.UNBOUNDED.withSeed(7L);
+        // when:
+        cache.solve(simpleMaze, solver, SolveOptions.UNBOUNDED);
+        cache.solve(simpleMaze, solver, SolveOptions.UNBOUNDED);
+        SolveResult first = cache.solve(simpleMaze, solver, seeded);
+        SolveResult second = cache.solve(simpleMaze, solver, seeded);
+        SolveResult otherSeed = cache.solve(simpleMaze, solver, SolveOptions.UNBOUNDED.withSeed(8L));
+        SolveResult budget = cache.solve(simpleMaze, solver, SolveOptions.builder().seed(7L).maxSteps(first.getSteps() - 1).build());
+        // then:
+        assertEquals(1, cache.getHits());
+        // Unseeded runs may not be cached, they are neither hits nor misses
+        assertEquals(3, cache.getMisses());
+        assertEquals(first.getSteps(), second.getSteps());
+        assertEquals(7L, second.getSeed());
+        assertNotNull(otherSeed.getMaze());
+        assertEquals(SolveStatus.STEP_BUDGET_EXHAUSTED, budget.getStatus());
+    }
+
+    // Least recently used paths evicted beyond the memory limit
+    @Test
+    public void leastRecentlyUsedPathsAreEvicted() throws MazeFileMalformedException, IOException {
+        // given:
+        Path copy = folder.getRoot().toPath().resolve("other.txt");
+        Files.write(copy, (new String(Files.readAllBytes(simpleMaze)) + "\n").getBytes());
+        long pathSize = new CompactPath().memorySize();
+        SolutionCache cache = new SolutionCache(pathSize);
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        // when:
+        cache.solve(simpleMaze, solver, SolveOptions.UNBOUNDED);
+        cache.solve(copy, solver, SolveOptions.UNBOUNDED);
+        SolveResult evicted = cache.solve(simpleMaze, solver, SolveOptions.UNBOUNDED);
+        // then:
+        assertNotEquals(ContentHash.of(simpleMaze), ContentHash.of(copy));
+        assertNotNull(evicted.getMaze());
+        assertEquals(0, cache.getHits());
+        assertEquals(pathSize, cache.getBytes());
+    }
+}
@@ -0,0 +1,149 @@
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.solver.CooperativeMazeSolver;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.PortfolioMazeSolver;
+import com.etraveligroup.mazechallenge.solver.metrics.Histogram;
+import com.etraveligroup.mazechallenge.solver.metrics.HistogramSnapshot;
+import com.etraveligroup.mazechallenge.solver.metrics.MetricsSnapshot;
+import com.etraveligroup.mazechallenge.solver.metrics.SolverMetrics;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SolverMetricsTest {
+
+    // Simple maze, solved twice
+    @Test
+    public void solverRecordsEveryRun() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/simple_maze.txt").builtMaze();
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        // when:
+        solver.solve(maze);
+        solver.solve(maze);
+        MetricsSnapshot snapshot = solver.getMetrics().snapshot();
+        // then:
+        assertEquals(2, snapshot.getRuns());
+        assertEquals(2, snapshot.getSolvedRuns());
+        assertEquals(12, snapshot.getSteps().getSum());
+        assertEquals(6, snapshot.getSteps().getMax());
+        // The start point has a single exit but is not a dead end, the path has no junction
+        assertEquals(0, snapshot.getDeadEndBacktracks());
+        assertEquals(0, snapshot.getJunctionDecisions());
+        assertEquals(0, snapshot.getRevisits());
+        assertEquals(1, snapshot.getMaxVisitCount());
+        assertEquals(2, snapshot.getLatencyNanos().getCount());
+    }
+
+    // The Actor turns south into a dead end of one block, back to the start point and east to the end point
+    @Test
+    public void deadEndIsCountedOncePerArrival() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("dead end").builtMaze(ByteBuffer.wrap("S__\n_X_\nXXG\n".getBytes(StandardCharsets.US_ASCII)));
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        // when:
+        solver.solve(maze);
+        MetricsSnapshot snapshot = solver.getMetrics().snapshot();
+        // then:
+        assertEquals(6, snapshot.getSteps().getSum());
+        assertEquals(1, snapshot.getDeadEndBacktracks());
+        assertEquals(0, snapshot.getJunctionDecisions());
+    }
+
+    // The runs of the Actors are not recorded on their own
+    @Test
+    public void cooperativeRunIsRecordedOnce() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/large_maze.txt").builtMaze();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CooperativeMazeSolver solver = new CooperativeMazeSolver(3, executor, true);
+        // when:
+        try {
+            solver.solve(maze);
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(1, solver.getMetrics().getRuns());
+        assertEquals(1, solver.getMetrics().getSolvedRuns());
+    }
+
+    // The member runs on another thread, its allocations are added to the run of the portfolio
+    @Test
+    public void portfolioRunCountsTheAllocationsOfItsMembers() throws MazeFileMalformedException, IOException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/large_maze.txt").builtMaze();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MarkThePathMazeSolver member = new MarkThePathMazeSolver(false);
+        PortfolioMazeSolver solver = new PortfolioMazeSolver(Collections.singletonList(member), executor);
+        // when:
+        try {
+            solver.solve(maze);
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertTrue(member.getMetrics().getAllocatedBytes() > 0);
+        assertTrue(solver.getMetrics().getAllocatedBytes() >= member.getMetrics().getAllocatedBytes());
+    }
+
+    // Percentiles within the power of two buckets
+    @Test
+    public void histogramReportsPercentiles() {
+        // given:
+        Histogram histogram = new Histogram();
+        // when:
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        // then:
+        assertEquals(100, snapshot.getCount());
+        assertEquals(5050, snapshot.getSum());
+        assertEquals(100, snapshot.getMax());
+        assertEquals(50.5, snapshot.getMean(), 0);
+        // The 50th value falls in bucket [32, 63]
+        assertEquals(63, snapshot.getPercentile(50));
+        // The 99th value falls in bucket [64, 127], capped to the maximum
+        assertEquals(100, snapshot.getPercentile(99));
+        assertEquals(1, snapshot.getPercentile(0));
+    }
+
+    // Metrics read over JMX
+    @Test
+    public void metricsAreExposedOverJmx() throws MazeFileMalformedException, IOException, JMException {
+        // given:
+        Maze maze = new MazeBuilder("src/test/files/mazeSolverTest/simple_maze.txt").builtMaze();
+        MarkThePathMazeSolver solver = new MarkThePathMazeSolver(false);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        // when:
+        ObjectName name = solver.getMetrics().register("Mark the path, deterministic");
+        solver.solve(maze);
+        // then:
+        try {
+            assertEquals(1L, server.getAttribute(name, "Runs"));
+            assertEquals(6L, server.getAttribute(name, "Steps"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "Runs"));
+        } finally {
+            SolverMetrics.unregister(name);
+        }
+        assertFalse(server.isRegistered(name));
+        assertTrue(name.toString().startsWith("com.etraveligroup.mazechallenge:type=SolverMetrics"));
+    }
+}
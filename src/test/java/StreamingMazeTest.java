@@ -0,0 +1,165 @@
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.StreamingMaze;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.CancellationToken;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import com.etraveligroup.mazechallenge.solver.SolveOptions;
+import com.etraveligroup.mazechallenge.solver.SolveResult;
+import com.etraveligroup.mazechallenge.solver.SolveStatus;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.END;
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.START;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingMazeTest {
+
+    // The solver starts with the first rows and waits for the row of the end point
+    @Test
+    public void solvingStartsBeforeTheStreamIsOver() throws Exception {
+        // given:
+        PipedOutputStream generator = new PipedOutputStream();
+        PipedInputStream pipe = new PipedInputStream(generator);
+        write(generator, "S__X\nXX_X\n");
+        StreamingMaze maze = StreamingMaze.load(pipe);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // when:
+        SolveResult result;
+        try {
+            Future<SolveResult> solving = executor.submit(() -> new MarkThePathMazeSolver(false).solve(maze));
+            try {
+                solving.get(200, TimeUnit.MILLISECONDS);
+                fail("Solved without the row of the end point");
+            } catch (TimeoutException expected) {
+                // Waiting for the third row
+            }
+            assertFalse(maze.isLoaded());
+            write(generator, "G__X\n");
+            generator.close();
+            result = solving.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        // then:
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertEquals(6, result.getSteps());
+        assertEquals(START, result.getPath().get(0).getBlockType());
+        assertEquals(END, result.getPath().get(6).getBlockType());
+        assertTrue(maze.isLoaded());
+        assertEquals(3, maze.getMazeHeight());
+    }
+
+    // A streamed maze is solved like the same maze built from its file
+    @Test
+    public void streamedMazeMatchesBuiltMaze() throws Exception {
+        // given:
+        String file = "src/test/files/mazeSolverTest/large_maze.txt";
+        Maze built = new MazeBuilder(file).builtMaze();
+        StreamingMaze streamed = StreamingMaze.load(Files.newInputStream(Paths.get(file)));
+        // when:
+        SolveResult fromStream = new MarkThePathMazeSolver(false).solve(streamed);
+        SolveResult fromFile = new MarkThePathMazeSolver(false).solve(built);
+        streamed.awaitLoaded();
+        // then:
+        assertEquals(SolveStatus.SOLVED, fromStream.getStatus());
+        assertEquals(fromFile.getSteps(), fromStream.getSteps());
+        assertEquals(built.getMazeHeight(), streamed.getMazeHeight());
+        assertEquals(built.getMazeWidth(), streamed.getMazeWidth());
+        assertEquals(built.getMazeEnd().getCoordinates(), streamed.getMazeEnd().getCoordinates());
+    }
+
+    // A generator stopping in the middle of the maze does not block the runs beyond their limits
+    @Test
+    public void stalledStreamStopsTheRunAtItsLimits() throws Exception {
+        // given:
+        PipedOutputStream generator = new PipedOutputStream();
+        PipedInputStream pipe = new PipedInputStream(generator);
+        write(generator, "S__X\nXX_X\n");
+        StreamingMaze maze = StreamingMaze.load(pipe);
+        PipedOutputStream noStartGenerator = new PipedOutputStream();
+        PipedInputStream noStartPipe = new PipedInputStream(noStartGenerator);
+        write(noStartGenerator, "XX_X\n");
+        StreamingMaze noStartMaze = StreamingMaze.load(noStartPipe);
+        CancellationToken token = new CancellationToken();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // when:
+        SolveResult timedOut, noStart, cancelled;
+        try {
+            SolveOptions timeout = SolveOptions.builder().timeout(Duration.ofMillis(200)).build();
+            timedOut = new MarkThePathMazeSolver(false).solve(maze, timeout);
+            noStart = new MarkThePathMazeSolver(false).solve(noStartMaze, timeout);
+            Future<SolveResult> solving = executor.submit(() -> new MarkThePathMazeSolver(false).solve(maze,
+                    SolveOptions.builder().cancellationToken(token).build()));
+            try {
+                solving.get(200, TimeUnit.MILLISECONDS);
+                fail("Solved without the row of the end point");
+            } catch (TimeoutException expected) {
+                // Waiting for the third row
+            }
+            token.cancel();
+            cancelled = solving.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            generator.close();
+            noStartGenerator.close();
+        }
+        // then:
+        assertEquals(SolveStatus.DEADLINE_EXCEEDED, timedOut.getStatus());
+        assertEquals(3, timedOut.getSteps());
+        assertEquals(SolveStatus.DEADLINE_EXCEEDED, noStart.getStatus());
+        assertEquals(0, noStart.getSteps());
+        assertTrue(noStart.getPath().isEmpty());
+        assertEquals(SolveStatus.CANCELLED, cancelled.getStatus());
+        assertFalse(maze.isLoaded());
+    }
+
+    // Rows of different widths
+    @Test
+    public void malformedStreamFailsTheWaitingReaders() throws Exception {
+        // given:
+        PipedOutputStream generator = new PipedOutputStream();
+        PipedInputStream pipe = new PipedInputStream(generator);
+        write(generator, "S__X\n");
+        StreamingMaze maze = StreamingMaze.load(pipe);
+        // when:
+        write(generator, "XX_\nG__X");
+        generator.close();
+        try {
+            maze.awaitLoaded();
+            fail("Malformed maze loaded");
+        } catch (MazeFileMalformedException ex) {
+            // then:
+            assertEquals("Maze rows should all have the width of the first row (line 2)", ex.getMessage());
+        }
+        assertFalse(maze.isLoaded());
+        try {
+            maze.getMazeEnd();
+            fail("End point of a malformed maze");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getCause() instanceof MazeFileMalformedException);
+        }
+    }
+
+    private static void write(OutputStream output, String rows) throws IOException {
+        output.write(rows.getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+    }
+}
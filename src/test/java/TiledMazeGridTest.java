@@ -0,0 +1,56 @@
+import com.etraveligroup.mazechallenge.model.actor.Actor;
+import com.etraveligroup.mazechallenge.model.block.Block;
+import com.etraveligroup.mazechallenge.model.maze.Maze;
+import com.etraveligroup.mazechallenge.model.maze.MazeBuilder;
+import com.etraveligroup.mazechallenge.model.maze.TiledMazeGrid;
+import com.etraveligroup.mazechallenge.model.maze.throwable.MazeFileMalformedException;
+import com.etraveligroup.mazechallenge.solver.MarkThePathMazeSolver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.etraveligroup.mazechallenge.model.block.BlockTypes.END;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TiledMazeGridTest {
+
+    private static final String LARGE_MAZE = "src/test/files/mazeSolverTest/large_maze.txt";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    // Maze built on small tiles with a tiny cache, so tiles are evicted and read back
+    @Test
+    public void tiledMazeHoldsTheSameCells() throws MazeFileMalformedException, IOException {
+        // given:
+        MazeBuilder tiledMazeBuilder = new MazeBuilder(LARGE_MAZE);
+        tiledMazeBuilder.setGridFactory(TiledMazeGrid.factory(temporaryFolder.newFile().toPath(), 4, 3));
+        // when:
+        Maze maze = new MazeBuilder(LARGE_MAZE).builtMaze();
+        Maze tiledMaze = tiledMazeBuilder.builtMaze();
+        try (TiledMazeGrid grid = (TiledMazeGrid) tiledMaze.getGrid()) {
+            // then:
+            assertEquals(maze.toString(), tiledMaze.toString());
+            assertTrue(grid.getCachedTiles() <= 3);
+        }
+    }
+
+    // Solvers look up neighbours through the tile cache
+    @Test
+    public void markThePathSolvesTiledMaze() throws MazeFileMalformedException, IOException {
+        // given:
+        MazeBuilder tiledMazeBuilder = new MazeBuilder(LARGE_MAZE);
+        tiledMazeBuilder.setGridFactory(TiledMazeGrid.factory(temporaryFolder.newFile().toPath(), 2, 2));
+        Maze tiledMaze = tiledMazeBuilder.builtMaze();
+        try (TiledMazeGrid grid = (TiledMazeGrid) tiledMaze.getGrid()) {
+            // when:
+            List<Block> path = new MarkThePathMazeSolver(tiledMaze, new Actor()).solveMaze(false);
+            // then:
+            assertEquals(END, path.get(path.size() - 1).getBlockType());
+        }
+    }
+}
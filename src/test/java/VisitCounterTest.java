@@ -0,0 +1,123 @@
+import com.etraveligroup.mazechallenge.solver.visit.ArrayVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.AtomicByteVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.AtomicVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.ByteVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.HashVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.StripedVisitCounter;
+import com.etraveligroup.mazechallenge.solver.visit.VisitCounter;
+import com.etraveligroup.mazechallenge.util.LongIntHashMap;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class VisitCounterTest {
+
+    // Dense counter
+    @Test
+    public void arrayVisitCounterCountsVisits() {
+        // given:
+        VisitCounter counter = new ArrayVisitCounter(10);
+        // when:
+        counter.increment(3);
+        counter.increment(3);
+        counter.increment(9);
+        // then:
+        assertEquals(2, counter.get(3));
+        assertEquals(1, counter.get(9));
+        assertEquals(0, counter.get(0));
+    }
+
+    // Byte counters of the largest mazes stop at 255
+    @Test
+    public void byteVisitCountersSaturate() {
+        // given:
+        VisitCounter[] counters = {new ByteVisitCounter(4), new AtomicByteVisitCounter(4)};
+        for (VisitCounter counter : counters) {
+            // when:
+            for (int i = 0; i < 300; i++) {
+                counter.increment(2);
+            }
+            counter.increment(3);
+            // then:
+            assertEquals(ByteVisitCounter.MAX_COUNT, counter.get(2));
+            assertEquals(1, counter.get(3));
+            assertEquals(0, counter.get(0));
+        }
+    }
+
+    // Sparse counter, growing far beyond its initial table
+    @Test
+    public void hashVisitCounterCountsVisits() {
+        // given:
+        HashVisitCounter counter = new HashVisitCounter(4);
+        // when:
+        for (long cell = 0; cell < 100_000; cell++) {
+            counter.increment(cell * 7_919L);
+            if (cell % 3 == 0) {
+                counter.increment(cell * 7_919L);
+            }
+        }
+        // then:
+        assertEquals(100_000, counter.size());
+        assertEquals(2, counter.get(0));
+        assertEquals(1, counter.get(7_919L));
+        assertEquals(2, counter.get(99_999L * 7_919L));
+        assertEquals(0, counter.get(1));
+    }
+
+    // Counts stop at Integer.MAX_VALUE like the dense counters
+    @Test
+    public void sparseCountsSaturate() {
+        // given:
+        LongIntHashMap visits = new LongIntHashMap();
+        visits.put(7, Integer.MAX_VALUE - 1);
+        // when:
+        visits.increment(7);
+        visits.increment(7);
+        // then:
+        assertEquals(Integer.MAX_VALUE, visits.get(7));
+        assertEquals(1, visits.increment(8));
+    }
+
+    // Clear forgets all visits
+    @Test
+    public void clearForgetsVisits() {
+        // given:
+        HashVisitCounter counter = new HashVisitCounter();
+        counter.increment(42);
+        // when:
+        counter.clear();
+        // then:
+        assertEquals(0, counter.get(42));
+        assertEquals(0, counter.size());
+    }
+
+    // Shared counters, no visit lost between threads
+    @Test
+    public void concurrentVisitCountersCountAllVisits() throws InterruptedException {
+        // given:
+        VisitCounter[] counters = {new AtomicVisitCounter(100), new AtomicByteVisitCounter(100), new StripedVisitCounter(4)};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // when:
+        for (VisitCounter counter : counters) {
+            for (int thread = 0; thread < 4; thread++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 6_000; i++) {
+                        counter.increment(i % 100);
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        // then:
+        for (VisitCounter counter : counters) {
+            assertEquals(240, counter.get(0));
+            assertEquals(240, counter.get(99));
+        }
+    }
+}